@@ -0,0 +1,87 @@
+package org.acme.employeescheduling.domain;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the domain methods that constraint streams call for every tuple: join keys, group keys and penalties.
+ * Each invocation takes the next shift (or employee) of the HUGE demo data, rather than the same object every time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainBenchmark {
+
+    private Shift[] shifts;
+    // Equal to, but not the same instance as, the shift at the same index, so equals() compares every field.
+    private Shift[] shiftCopies;
+    private Employee[] employees;
+    private int shiftIndex;
+    private int employeeIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmployeeSchedule schedule = new DemoDataGenerator().generateDemoData(DemoData.HUGE);
+        List<Employee> employeeList = schedule.getEmployees();
+        List<Shift> shiftList = schedule.getShifts();
+        shifts = new Shift[shiftList.size()];
+        shiftCopies = new Shift[shiftList.size()];
+        for (int i = 0; i < shifts.length; i++) {
+            Shift shift = shiftList.get(i);
+            shift.setEmployee(employeeList.get(i % employeeList.size()));
+            shifts[i] = shift;
+            shiftCopies[i] = new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getRequiredRole(),
+                    shift.getEmployee());
+        }
+        employees = employeeList.toArray(new Employee[0]);
+    }
+
+    private int nextShiftIndex() {
+        int i = shiftIndex + 1;
+        shiftIndex = i == shifts.length ? 0 : i;
+        return shiftIndex;
+    }
+
+    @Benchmark
+    public int shiftOverlappingDurationInMinutes() {
+        // Compare each shift with the next one, which is on the same or an adjacent day.
+        int i = nextShiftIndex();
+        Shift otherShift = shifts[i + 1 == shifts.length ? 0 : i + 1];
+        return shifts[i].getOverlappingDurationInMinutes(otherShift);
+    }
+
+    @Benchmark
+    public int shiftHashCode() {
+        return shifts[nextShiftIndex()].hashCode();
+    }
+
+    @Benchmark
+    public boolean shiftEquals() {
+        int i = nextShiftIndex();
+        return shifts[i].equals(shiftCopies[i]);
+    }
+
+    @Benchmark
+    public int employeeHashCode() {
+        int i = employeeIndex + 1;
+        employeeIndex = i == employees.length ? 0 : i;
+        return employees[employeeIndex].hashCode();
+    }
+}
@@ -0,0 +1,114 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.constraint.ConstraintMatchPolicy;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures incremental score calculations per second, the way local search does them:
+ * reassign one random shift to a random employee, then recalculate the score.
+ * Uses the internal score director API, because the public API only calculates scores from scratch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreCalculationBenchmark {
+
+    // A power of two, so the next move is found with a mask instead of a modulo.
+    private static final int MOVE_COUNT = 1 << 16;
+
+    @Param({ "SMALL", "MEDIUM", "LARGE", "HUGE" })
+    private DemoData demoData;
+
+    @Param({
+            SingleConstraintProvider.ALL_CONSTRAINTS,
+            "Overlapping shifts for same employee",
+            "Unavailable employee",
+            "Max weekly working hours exceeded",
+            "At least one Specialist per time slot",
+            "Balance employee shift assignments",
+            "Preferred holiday not respected" })
+    private String constraintName;
+
+    private InnerScoreDirector<EmployeeSchedule, ?> scoreDirector;
+    private Shift[] moveShifts;
+    private Employee[] moveEmployees;
+    private int moveIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(EmployeeSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withScoreDirectorFactory(new ScoreDirectorFactoryConfig()
+                        .withConstraintProviderClass(SingleConstraintProvider.class)
+                        .withConstraintProviderCustomProperties(Map.of("constraintName", constraintName)));
+        DefaultSolverFactory<EmployeeSchedule> solverFactory =
+                (DefaultSolverFactory<EmployeeSchedule>) SolverFactory.<EmployeeSchedule> create(solverConfig);
+
+        EmployeeSchedule schedule = new DemoDataGenerator().generateDemoData(demoData);
+        List<Employee> employees = schedule.getEmployees();
+        List<Shift> shifts = schedule.getShifts();
+        Random random = new Random(0);
+        for (Shift shift : shifts) {
+            shift.setEmployee(employees.get(random.nextInt(employees.size())));
+        }
+        moveShifts = new Shift[MOVE_COUNT];
+        moveEmployees = new Employee[MOVE_COUNT];
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            moveShifts[i] = shifts.get(random.nextInt(shifts.size()));
+            moveEmployees[i] = employees.get(random.nextInt(employees.size()));
+        }
+        moveIndex = 0;
+
+        scoreDirector = solverFactory.getScoreDirectorFactory().buildScoreDirector(false, ConstraintMatchPolicy.DISABLED);
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Benchmark
+    public Score<?> incrementalScoreCalculation() {
+        int i = moveIndex++ & (MOVE_COUNT - 1);
+        Shift shift = moveShifts[i];
+        scoreDirector.beforeVariableChanged(shift, "employee");
+        shift.setEmployee(moveEmployees[i]);
+        scoreDirector.afterVariableChanged(shift, "employee");
+        return scoreDirector.calculateScore();
+    }
+}
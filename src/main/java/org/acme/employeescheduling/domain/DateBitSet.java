@@ -0,0 +1,42 @@
+package org.acme.employeescheduling.domain;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable set of dates stored as one bit per day, counted from the earliest date in the set.
+ * Lookups are a subtraction and a bit test, without allocating.
+ */
+final class DateBitSet {
+
+    private static final DateBitSet EMPTY = new DateBitSet(0L, new BitSet(0));
+
+    private final long firstEpochDay;
+    private final BitSet days;
+
+    private DateBitSet(long firstEpochDay, BitSet days) {
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+    }
+
+    static DateBitSet of(Collection<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            return EMPTY;
+        }
+        long firstEpochDay = Long.MAX_VALUE;
+        for (LocalDate date : dates) {
+            firstEpochDay = Math.min(firstEpochDay, date.toEpochDay());
+        }
+        BitSet days = new BitSet();
+        for (LocalDate date : dates) {
+            days.set(Math.toIntExact(date.toEpochDay() - firstEpochDay));
+        }
+        return new DateBitSet(firstEpochDay, days);
+    }
+
+    boolean contains(long epochDay) {
+        long dayIndex = epochDay - firstEpochDay;
+        return dayIndex >= 0 && dayIndex < days.length() && days.get((int) dayIndex);
+    }
+}
@@ -5,7 +5,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,13 +14,65 @@ import lombok.ToString;
 
 
 @Setter @Getter
-@AllArgsConstructor @NoArgsConstructor
-@ToString @EqualsAndHashCode
+@NoArgsConstructor
+// Equal by name only, so replacing the dates of an employee the solver indexes never changes its hash code.
+@ToString @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Employee {
-    @PlanningId
+    @PlanningId @EqualsAndHashCode.Include
     private String name;
     private String role;
     private Set<LocalDate> unavailableDates = new HashSet<>();
     private Set<LocalDate> preferredHolidays = new HashSet<>();
     private int maxWorkingHoursPerWeek;
+
+    // Built on first lookup, after the problem has been loaded, and dropped whenever the dates are replaced.
+    // Date sets that are modified in place must be followed by a call to resetDateBitSets().
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile DateBitSet unavailableDateBitSet;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private volatile DateBitSet preferredHolidayBitSet;
+
+    public Employee(String name, String role, Set<LocalDate> unavailableDates, Set<LocalDate> preferredHolidays,
+            int maxWorkingHoursPerWeek) {
+        this.name = name;
+        this.role = role;
+        this.unavailableDates = unavailableDates;
+        this.preferredHolidays = preferredHolidays;
+        this.maxWorkingHoursPerWeek = maxWorkingHoursPerWeek;
+    }
+
+    public void setUnavailableDates(Set<LocalDate> unavailableDates) {
+        this.unavailableDates = unavailableDates;
+        this.unavailableDateBitSet = null;
+    }
+
+    public void setPreferredHolidays(Set<LocalDate> preferredHolidays) {
+        this.preferredHolidays = preferredHolidays;
+        this.preferredHolidayBitSet = null;
+    }
+
+    public void resetDateBitSets() {
+        this.unavailableDateBitSet = null;
+        this.preferredHolidayBitSet = null;
+    }
+
+    public boolean isUnavailableOn(long epochDay) {
+        DateBitSet bitSet = unavailableDateBitSet;
+        if (bitSet == null) {
+            bitSet = DateBitSet.of(unavailableDates);
+            unavailableDateBitSet = bitSet;
+        }
+        return bitSet.contains(epochDay);
+    }
+
+    public boolean isPreferredHolidayOn(long epochDay) {
+        DateBitSet bitSet = preferredHolidayBitSet;
+        if (bitSet == null) {
+            bitSet = DateBitSet.of(preferredHolidays);
+            preferredHolidayBitSet = bitSet;
+        }
+        return bitSet.contains(epochDay);
+    }
 }
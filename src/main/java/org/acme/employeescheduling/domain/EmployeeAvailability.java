@@ -0,0 +1,10 @@
+package org.acme.employeescheduling.domain;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * New dates for an {@link Employee}. A null set leaves the current dates as they are.
+ */
+public record EmployeeAvailability(Set<LocalDate> unavailableDates, Set<LocalDate> preferredHolidays) {
+}
@@ -1,13 +1,17 @@
 package org.acme.employeescheduling.domain;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.PlanningScore;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
-import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.solver.SolverStatus;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -22,26 +26,90 @@ import lombok.ToString;
 @PlanningSolution
 public class EmployeeSchedule {
 
+    // The value range of every shift is its own list of available employees.
     @ProblemFactCollectionProperty
-    @ValueRangeProvider
     private List<Employee> employees;
 
     @PlanningEntityCollectionProperty
     private List<Shift> shifts;
 
     @PlanningScore
-    private HardSoftBigDecimalScore score;
+    private HardSoftLongScore score;
 
     private SolverStatus solverStatus;
 
+    // Increases with every best solution of a job, so clients can ask for the changes since the version they have.
+    private long version;
+
+    // Milliseconds from submitting the job to its first feasible solution, null until there is one,
+    // and to its current best solution.
+    private Long timeToFeasibleMillis;
+    private Long timeToBestMillis;
+
+    // Assigned shifts that start before this are frozen, see pinFrozenShifts(). Null freezes nothing.
+    private LocalDateTime freezeUntil;
+
     public EmployeeSchedule(List<Employee> employees, List<Shift> shifts) {
         this.employees = employees;
         this.shifts = shifts;
     }
 
-    public EmployeeSchedule(HardSoftBigDecimalScore score, SolverStatus solverStatus) {
+    public EmployeeSchedule(HardSoftLongScore score, SolverStatus solverStatus) {
         this.score = score;
         this.solverStatus = solverStatus;
     }
 
+    /**
+     * Gives every shift the employees the solver may assign to it.
+     * Call before solving, and after changing the employees, the shifts or the employees' unavailable dates.
+     */
+    public void updateAvailableEmployees() {
+        for (Shift shift : shifts) {
+            shift.updateAvailableEmployees(employees);
+        }
+    }
+
+    /**
+     * Pins every assigned shift that starts before {@link #freezeUntil}, so the solver only optimizes the rest
+     * of the horizon. Unassigned shifts are never pinned, because they still need an employee.
+     * Shifts that are already pinned stay pinned.
+     */
+    public void pinFrozenShifts() {
+        if (freezeUntil == null) {
+            return;
+        }
+        for (Shift shift : shifts) {
+            if (shift.getEmployee() != null && shift.getStart().isBefore(freezeUntil)) {
+                shift.setPinned(true);
+            }
+        }
+    }
+
+    /**
+     * Copies the employees and the shifts, keeping every shift's employee, so a new solve can start from this
+     * schedule without changing it. A shift whose employee is no longer in the schedule is left unassigned.
+     */
+    public EmployeeSchedule copyProblem() {
+        Map<String, Employee> nameToEmployee = new HashMap<>(employees.size() * 2);
+        List<Employee> employeesCopy = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            Employee employeeCopy = new Employee(employee.getName(), employee.getRole(),
+                    new HashSet<>(employee.getUnavailableDates()), new HashSet<>(employee.getPreferredHolidays()),
+                    employee.getMaxWorkingHoursPerWeek());
+            nameToEmployee.put(employeeCopy.getName(), employeeCopy);
+            employeesCopy.add(employeeCopy);
+        }
+        List<Shift> shiftsCopy = new ArrayList<>(shifts.size());
+        for (Shift shift : shifts) {
+            Employee employee = shift.getEmployee() == null ? null : nameToEmployee.get(shift.getEmployee().getName());
+            Shift shiftCopy = new Shift(shift.getId(), shift.getStart(), shift.getEnd(), shift.getRequiredRole(), employee);
+            shiftCopy.setPinned(shift.isPinned() && employee != null);
+            shiftsCopy.add(shiftCopy);
+        }
+        EmployeeSchedule copy = new EmployeeSchedule(employeesCopy, shiftsCopy);
+        copy.setFreezeUntil(freezeUntil);
+        copy.updateAvailableEmployees();
+        return copy;
+    }
+
 }
@@ -0,0 +1,17 @@
+package org.acme.employeescheduling.domain;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+/**
+ * The score of a schedule version and the shifts whose employee changed since an earlier version,
+ * instead of the whole {@link EmployeeSchedule}.
+ *
+ * @param resyncRequired true if shifts were added or removed since the earlier version.
+ * The changed shifts don't tell which, so fetch the whole schedule instead.
+ */
+public record ScheduleChanges(long version, HardSoftLongScore score, SolverStatus solverStatus,
+        List<ShiftAssignment> changedShifts, boolean resyncRequired) {
+}
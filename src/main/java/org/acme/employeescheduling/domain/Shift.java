@@ -2,25 +2,33 @@ package org.acme.employeescheduling.domain;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.entity.PlanningPin;
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
-import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @Setter @Getter
-@AllArgsConstructor @NoArgsConstructor
+@NoArgsConstructor
 @ToString
 @PlanningEntity
 public class Shift {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final String AVAILABLE_EMPLOYEES = "availableEmployees";
+
+    private static final int AFTERNOON_START_HOUR = 14;
+
     @PlanningId
     private String id;
 
@@ -29,9 +37,50 @@ public class Shift {
 
     private String requiredRole;
 
-    @PlanningVariable
+    @PlanningVariable(valueRangeProviderRefs = AVAILABLE_EMPLOYEES)
     private Employee employee;
 
+    // The employees the solver may assign: those available on every day the shift touches,
+    // or all employees if none is. Derived by EmployeeSchedule.updateAvailableEmployees().
+    @ValueRangeProvider(id = AVAILABLE_EMPLOYEES)
+    @JsonIgnore @ToString.Exclude
+    private List<Employee> availableEmployees = List.of();
+
+    // The solver never changes the employee of a pinned shift, nor spends moves on it.
+    @PlanningPin
+    private boolean pinned;
+
+    // Derived from start and end whenever either is set, so the score calculation does no java.time work.
+    // Minutes and days are counted from the epoch, treating the local date-time as if it were UTC.
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private long startEpochMinute;
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private long endEpochMinute;
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private long startEpochDay;
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private long endEpochDay;
+    // Monday-based week number since the epoch: one distinct value per ISO week.
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private long startEpochWeek;
+    // Boxed once, so the overlap join indexes shifts by start day without allocating.
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private Long startEpochDayKey;
+    // Every day the shift has at least one minute on, from the start day onwards.
+    // Only the source of the overlap join's days; the score calculation loops over the days as primitives.
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private List<Long> coveredEpochDays = List.of();
+    @JsonIgnore @Setter(AccessLevel.NONE) @ToString.Exclude
+    private TimeSlot timeSlot;
+
+    public Shift(String id, LocalDateTime start, LocalDateTime end, String requiredRole, Employee employee) {
+        this.id = id;
+        this.requiredRole = requiredRole;
+        this.employee = employee;
+        setStart(start);
+        setEnd(end);
+    }
+
     public Shift(LocalDateTime start, LocalDateTime end, String requiredRole) {
         this(null, start, end, requiredRole, null);
     }
@@ -40,22 +89,105 @@ public class Shift {
         this(null, start, end, requiredRole, employee);
     }
 
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+        if (start != null) {
+            startEpochMinute = toEpochMinute(start);
+            startEpochDay = Math.floorDiv(startEpochMinute, MINUTES_PER_DAY);
+            startEpochDayKey = startEpochDay;
+            // The epoch day 0 is a Thursday, so shift by 3 days to make weeks start on Monday.
+            startEpochWeek = Math.floorDiv(startEpochDay + 3, 7);
+            timeSlot = new TimeSlot(startEpochDay,
+                    start.getHour() < AFTERNOON_START_HOUR ? TimeSlot.MORNING : TimeSlot.AFTERNOON);
+        }
+        updateCoveredEpochDays();
+    }
+
+    public void setEnd(LocalDateTime end) {
+        this.end = end;
+        if (end != null) {
+            endEpochMinute = toEpochMinute(end);
+            endEpochDay = Math.floorDiv(endEpochMinute, MINUTES_PER_DAY);
+        }
+        updateCoveredEpochDays();
+    }
+
+    private void updateCoveredEpochDays() {
+        if (start == null || end == null) {
+            coveredEpochDays = List.of();
+            return;
+        }
+        List<Long> days = new ArrayList<>(1);
+        days.add(startEpochDayKey);
+        for (long day = startEpochDay + 1; day * MINUTES_PER_DAY < endEpochMinute; day++) {
+            days.add(day);
+        }
+        coveredEpochDays = List.copyOf(days);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    @JsonIgnore
+    public int getDurationInMinutes() {
+        return (int) (endEpochMinute - startEpochMinute);
+    }
+
+    public int getOverlappingDurationInMinutes(Shift other) {
+        long maxStart = Math.max(startEpochMinute, other.startEpochMinute);
+        long minEnd = Math.min(endEpochMinute, other.endEpochMinute);
+        return minEnd > maxStart ? (int) (minEnd - maxStart) : 0;
+    }
+
+    /**
+     * @return whether none of the shift's minutes are on a date the employee is unavailable
+     */
+    public boolean isAvailable(Employee employee) {
+        return getUnavailableDurationInMinutes(employee) == 0;
+    }
+
+    public void updateAvailableEmployees(List<Employee> employees) {
+        List<Employee> available = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            if (isAvailable(employee)) {
+                available.add(employee);
+            }
+        }
+        availableEmployees = available.isEmpty() ? List.copyOf(employees) : available;
+    }
+
     public boolean isOverlappingWithDate(LocalDate date) {
-        return getStart().toLocalDate().equals(date) || getEnd().toLocalDate().equals(date);
+        return isOverlappingWithDay(date.toEpochDay());
+    }
+
+    public boolean isOverlappingWithDay(long epochDay) {
+        return startEpochDay <= epochDay && epochDay <= endEpochDay;
     }
 
     public int getOverlappingDurationInMinutes(LocalDate date) {
-        LocalDateTime startDateTime = LocalDateTime.of(date, LocalTime.MIN);
-        LocalDateTime endDateTime = LocalDateTime.of(date, LocalTime.MAX);
-        return getOverlappingDurationInMinutes(startDateTime, endDateTime, getStart(), getEnd());
+        return getOverlappingDurationInMinutes(date.toEpochDay());
+    }
+
+    public int getOverlappingDurationInMinutes(long epochDay) {
+        long dayStartEpochMinute = epochDay * MINUTES_PER_DAY;
+        long maxStart = Math.max(dayStartEpochMinute, startEpochMinute);
+        long minEnd = Math.min(dayStartEpochMinute + MINUTES_PER_DAY, endEpochMinute);
+        return minEnd > maxStart ? (int) (minEnd - maxStart) : 0;
     }
 
-    private int getOverlappingDurationInMinutes(LocalDateTime firstStartDateTime, LocalDateTime firstEndDateTime,
-            LocalDateTime secondStartDateTime, LocalDateTime secondEndDateTime) {
-        LocalDateTime maxStartTime = firstStartDateTime.isAfter(secondStartDateTime) ? firstStartDateTime : secondStartDateTime;
-        LocalDateTime minEndTime = firstEndDateTime.isBefore(secondEndDateTime) ? firstEndDateTime : secondEndDateTime;
-        long minutes = maxStartTime.until(minEndTime, ChronoUnit.MINUTES);
-        return minutes > 0 ? (int) minutes : 0;
+    /**
+     * @return the minutes of the shift on dates the employee is unavailable, over every day it covers,
+     * so a shift that spans several days counts its days in between too
+     */
+    public int getUnavailableDurationInMinutes(Employee employee) {
+        int minutes = 0;
+        for (long epochDay = startEpochDay; epochDay * MINUTES_PER_DAY < endEpochMinute; epochDay++) {
+            if (employee.isUnavailableOn(epochDay)) {
+                minutes += getOverlappingDurationInMinutes(epochDay);
+            }
+        }
+        return minutes;
     }
 
     @Override
@@ -0,0 +1,11 @@
+package org.acme.employeescheduling.domain;
+
+/**
+ * @param employeeName null if the shift is unassigned
+ */
+public record ShiftAssignment(String shiftId, String employeeName) {
+
+    public static ShiftAssignment of(Shift shift) {
+        return new ShiftAssignment(shift.getId(), shift.getEmployee() == null ? null : shift.getEmployee().getName());
+    }
+}
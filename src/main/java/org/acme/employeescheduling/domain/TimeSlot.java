@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.domain;
+
+/**
+ * The morning or afternoon slot of one day. Every {@link Shift} derives its own from its start,
+ * equal for shifts that start in the same slot.
+ *
+ * @param epochDay days since the epoch
+ * @param ordinal {@link #MORNING} or {@link #AFTERNOON}
+ */
+public record TimeSlot(long epochDay, int ordinal) {
+
+    public static final int MORNING = 0;
+    public static final int AFTERNOON = 1;
+
+}
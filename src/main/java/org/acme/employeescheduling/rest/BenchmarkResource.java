@@ -1,23 +1,82 @@
 package org.acme.employeescheduling.rest;
 
-import ai.timefold.solver.benchmark.api.PlannerBenchmark;
-import ai.timefold.solver.benchmark.api.PlannerBenchmarkFactory;
+import java.time.Duration;
+
+import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.acme.employeescheduling.rest.benchmark.BenchmarkProgress;
+import org.acme.employeescheduling.rest.benchmark.BenchmarkReport;
+import org.acme.employeescheduling.rest.benchmark.BenchmarkRequest;
+import org.acme.employeescheduling.rest.benchmark.BenchmarkService;
+import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 
 @Path("benchmark")
 public class BenchmarkResource {
 
+    BenchmarkService benchmarkService;
+
+    @Inject
+    public BenchmarkResource(BenchmarkService benchmarkService) {
+        this.benchmarkService = benchmarkService;
+    }
+
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces(MediaType.TEXT_PLAIN)
-    public String run() {
-        PlannerBenchmarkFactory benchmarkFactory = PlannerBenchmarkFactory.createFromXmlResource("benchmarkConfig.xml");
-        PlannerBenchmark benchmark = benchmarkFactory.buildPlannerBenchmark();
-        benchmark.benchmarkAndShowReportInBrowser();
-        return "success";
+    public String run(BenchmarkRequest request) {
+        if (request == null) {
+            request = new BenchmarkRequest(null, null, null, null, false);
+        }
+        checkPositive("spentLimit", request.spentLimit());
+        checkPositive("unimprovedSpentLimit", request.unimprovedSpentLimit());
+        return benchmarkService.submit(request);
+    }
+
+    private static void checkPositive(String name, Duration duration) {
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "The " + name + " (" + duration + ") must be positive.");
+        }
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{benchmarkId}")
+    public BenchmarkReport getReport(
+            @Parameter(description = "The benchmark ID returned by the POST method.") @PathParam("benchmarkId") String benchmarkId) {
+        return checkFound(benchmarkId, benchmarkService.getReport(benchmarkId));
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{benchmarkId}/status")
+    public BenchmarkProgress getProgress(
+            @Parameter(description = "The benchmark ID returned by the POST method.") @PathParam("benchmarkId") String benchmarkId) {
+        return checkFound(benchmarkId, benchmarkService.getProgress(benchmarkId));
+    }
+
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{benchmarkId}")
+    public BenchmarkReport cancel(
+            @Parameter(description = "The benchmark ID returned by the POST method.") @PathParam("benchmarkId") String benchmarkId) {
+        return checkFound(benchmarkId, benchmarkService.cancel(benchmarkId));
+    }
+
+    private static <T> T checkFound(String benchmarkId, T value) {
+        if (value == null) {
+            throw new EmployeeScheduleSolverException(benchmarkId, Response.Status.NOT_FOUND, "No benchmark found.");
+        }
+        return value;
     }
 }
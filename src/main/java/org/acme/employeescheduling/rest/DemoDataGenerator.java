@@ -182,6 +182,7 @@ public class DemoDataGenerator {
         AtomicInteger countShift = new AtomicInteger();
         shifts.forEach(s -> s.setId(Integer.toString(countShift.getAndIncrement())));
         employeeSchedule.setShifts(shifts);
+        employeeSchedule.updateAvailableEmployees();
 
         return employeeSchedule;
     }
@@ -1,21 +1,16 @@
 package org.acme.employeescheduling.rest;
 
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
-import ai.timefold.solver.core.api.solver.SolverFactory;
-import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
-import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
-import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
-import ai.timefold.solver.core.config.localsearch.LocalSearchType;
-import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
-import ai.timefold.solver.core.config.solver.SolverConfig;
-import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import java.util.concurrent.CompletionStage;
+
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
@@ -23,98 +18,276 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
 import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
 import ai.timefold.solver.core.api.solver.SolutionManager;
-import ai.timefold.solver.core.api.solver.SolverManager;
 import ai.timefold.solver.core.api.solver.SolverStatus;
 
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeAvailability;
 import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleChanges;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.ConstraintProfile;
+import org.acme.employeescheduling.solver.ConstraintProfiler;
+import org.acme.employeescheduling.solver.SolverManagerRegistry;
+import org.acme.employeescheduling.solver.TerminationPolicy;
+import org.acme.employeescheduling.solver.change.AddEmployeeProblemChange;
+import org.acme.employeescheduling.solver.change.AddShiftProblemChange;
+import org.acme.employeescheduling.solver.change.ProblemChanges;
+import org.acme.employeescheduling.solver.change.RemoveEmployeeProblemChange;
+import org.acme.employeescheduling.solver.change.RemoveShiftProblemChange;
+import org.acme.employeescheduling.solver.change.UpdateEmployeeAvailabilityProblemChange;
+import org.acme.employeescheduling.rest.batch.BatchItem;
+import org.acme.employeescheduling.rest.batch.BatchReport;
+import org.acme.employeescheduling.rest.batch.BatchRequest;
+import org.acme.employeescheduling.rest.batch.BatchService;
+import org.acme.employeescheduling.rest.event.ScheduleEventBroadcaster;
 import org.acme.employeescheduling.rest.exception.EmployeeScheduleSolverException;
+import org.acme.employeescheduling.rest.job.Job;
+import org.acme.employeescheduling.rest.job.JobCache;
+import org.acme.employeescheduling.rest.job.JobCacheStatistics;
+import org.acme.employeescheduling.rest.job.JobStore;
+import org.acme.employeescheduling.rest.job.JobStoreStatistics;
+import org.acme.employeescheduling.rest.job.ScoreAnalysisCache;
+import org.acme.employeescheduling.rest.telemetry.JobStats;
+import org.acme.employeescheduling.rest.telemetry.JobTelemetry;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 @Path("schedules")
 public class EmployeeScheduleResource {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeScheduleResource.class);
+    SolverManagerRegistry solverManagerRegistry;
+    SolutionManager<EmployeeSchedule, HardSoftLongScore> solutionManager;
+    ScheduleSolvingService scheduleSolvingService;
+    JobStore jobStore;
+    ScheduleEventBroadcaster scheduleEventBroadcaster;
+    BatchService batchService;
+    JobCache jobCache;
+    JobTelemetry jobTelemetry;
+    ConstraintProfiler constraintProfiler;
+    ScoreAnalysisCache scoreAnalysisCache;
 
-    SolverManager<EmployeeSchedule, String> solverManager;
-    SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager;
+    @Inject
+    public EmployeeScheduleResource(SolverManagerRegistry solverManagerRegistry,
+            SolutionManager<EmployeeSchedule, HardSoftLongScore> solutionManager,
+            ScheduleSolvingService scheduleSolvingService, JobStore jobStore,
+            ScheduleEventBroadcaster scheduleEventBroadcaster, BatchService batchService, JobCache jobCache,
+            JobTelemetry jobTelemetry, ConstraintProfiler constraintProfiler, ScoreAnalysisCache scoreAnalysisCache) {
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.solutionManager = solutionManager;
+        this.scheduleSolvingService = scheduleSolvingService;
+        this.jobStore = jobStore;
+        this.scheduleEventBroadcaster = scheduleEventBroadcaster;
+        this.batchService = batchService;
+        this.jobCache = jobCache;
+        this.jobTelemetry = jobTelemetry;
+        this.constraintProfiler = constraintProfiler;
+        this.scoreAnalysisCache = scoreAnalysisCache;
+    }
 
-    private final ConcurrentMap<String, Job> jobIdToJob = new ConcurrentHashMap<>();
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces(MediaType.TEXT_PLAIN)
+    public String solve(@QueryParam("algorithm") String algorithm,
+            @Parameter(description = "Solve every week separately and in parallel first, then the whole schedule as a warm start.")
+            @QueryParam("partitioned") boolean partitioned,
+            @Parameter(description = "DEFAULT, FIRST_FEASIBLE, FEASIBLE_THEN_SPENT or FEASIBLE_THEN_UNIMPROVED.")
+            @QueryParam("termination") @DefaultValue("DEFAULT") String termination,
+            @Parameter(description = "For the FEASIBLE_THEN_SPENT and FEASIBLE_THEN_UNIMPROVED termination.")
+            @QueryParam("afterFeasibleSeconds") @DefaultValue("10") long afterFeasibleSeconds,
+            @Parameter(description = "The most seconds the job may take. Defaults to the configured spent limit.")
+            @QueryParam("maxSeconds") Long maxSeconds,
+            @Parameter(description = "Return the job of an identical earlier submission, if any, instead of solving again.")
+            @QueryParam("reuse") @DefaultValue("true") boolean reuse,
+            @Parameter(description = "The assigned shifts are already a good solution, so use the shorter warm start time limits.")
+            @QueryParam("warmStart") boolean warmStart,
+            EmployeeSchedule problem) {
+        return scheduleSolvingService.solve(new SolveRequest(problem, algorithm, partitioned,
+                parseTerminationPolicy(termination), Duration.ofSeconds(afterFeasibleSeconds),
+                maxSeconds == null ? null : Duration.ofSeconds(maxSeconds), reuse, warmStart));
+    }
 
-    @Inject
-    SolverConfig baseSolverConfig;
+    /**
+     * Starts a new job from the latest schedule of the given job, which may still be solving.
+     * Its shift assignments are the starting point, so only unassigned shifts go through construction
+     * and the new job runs with the shorter warm start termination.
+     * Moving {@code freezeUntil} forward between re-solves rolls the horizon: the shifts before it are pinned.
+     */
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    @Path("{jobId}/resolve")
+    public String resolve(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @QueryParam("algorithm") String algorithm,
+            @QueryParam("partitioned") boolean partitioned,
+            @QueryParam("termination") @DefaultValue("DEFAULT") String termination,
+            @QueryParam("afterFeasibleSeconds") @DefaultValue("10") long afterFeasibleSeconds,
+            @QueryParam("maxSeconds") Long maxSeconds,
+            @QueryParam("reuse") @DefaultValue("true") boolean reuse,
+            @Parameter(description = "Pin the assigned shifts that start before this date-time, for example 2025-01-13T00:00. Defaults to the freezeUntil of the job's schedule.")
+            @QueryParam("freezeUntil") String freezeUntil) {
+        EmployeeSchedule problem = getEmployeeScheduleAndCheckForExceptions(jobId).copyProblem();
+        if (freezeUntil != null) {
+            try {
+                problem.setFreezeUntil(LocalDateTime.parse(freezeUntil));
+            } catch (DateTimeParseException e) {
+                throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST,
+                        "Invalid freezeUntil (" + freezeUntil + "), expected a date-time like 2025-01-13T00:00.");
+            }
+        }
+        return solve(algorithm, partitioned, termination, afterFeasibleSeconds, maxSeconds, reuse, true, problem);
+    }
 
-    @Inject
-    public EmployeeScheduleResource(SolverManager<EmployeeSchedule, String> solverManager,
-            SolutionManager<EmployeeSchedule, HardSoftBigDecimalScore> solutionManager) {
-        this.solverManager = solverManager;
-        this.solutionManager = solutionManager;
+    private static TerminationPolicy parseTerminationPolicy(String termination) {
+        try {
+            return TerminationPolicy.valueOf(termination);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                    "Invalid termination (" + termination + "), expected one of "
+                            + Arrays.toString(TerminationPolicy.values()) + ".");
+        }
     }
 
+    /**
+     * Solves many independent schedules, such as one per site, from one request.
+     * Every item becomes an ordinary job once a solver slot is free for it; batches take turns for the slots.
+     */
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces(MediaType.TEXT_PLAIN)
-    public String solve(@QueryParam("algorithm") String algorithm, EmployeeSchedule problem) {
-        String jobId = UUID.randomUUID().toString();
-        jobIdToJob.put(jobId, Job.ofSchedule(problem));
-
-        SolverConfig solverConfig = new SolverConfig(baseSolverConfig);
-        ConstructionHeuristicPhaseConfig constructionHeuristicPhaseConfig = new ConstructionHeuristicPhaseConfig();
-        constructionHeuristicPhaseConfig.setConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT);
-        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
-
-        switch(algorithm) {
-            case "TABU_SEARCH":
-                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.TABU_SEARCH);
-                break;
-            case "LATE_ACCEPTANCE":
-                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.LATE_ACCEPTANCE);
-                break;
-            case "SIMULATED_ANNEALING":
-                LocalSearchAcceptorConfig config = new LocalSearchAcceptorConfig();
-                config.setSimulatedAnnealingStartingTemperature("2hard/100soft");
-                localSearchPhaseConfig.setAcceptorConfig(config);
-                break;
-            case "GREAT_DELUGE":
-                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.GREAT_DELUGE);
-                break;
-            default:
-                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.HILL_CLIMBING);
-        }
-
-        solverConfig.setPhaseConfigList(List.of(constructionHeuristicPhaseConfig, localSearchPhaseConfig));
-
-        SolverFactory<EmployeeSchedule> solverFactory = SolverFactory.create(solverConfig);
-        solverManager = this.overrideSolverManager(solverFactory);
-
-        solverManager.solveBuilder()
-                .withProblemId(jobId)
-                .withProblemFinder(jobId_ -> jobIdToJob.get(jobId).schedule)
-                .withBestSolutionConsumer(solution -> jobIdToJob.put(jobId, Job.ofSchedule(solution)))
-                .withExceptionHandler((jobId_, exception) -> {
-                    jobIdToJob.put(jobId, Job.ofException(exception));
-                    LOGGER.error("Failed solving jobId ({}).", jobId, exception);
-                })
-                .run();
-        return jobId;
+    @Path("batch")
+    public String solveBatch(BatchRequest request) {
+        if (request == null || request.items() == null || request.items().isEmpty()) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, "No batch items given.");
+        }
+        for (int i = 0; i < request.items().size(); i++) {
+            BatchItem item = request.items().get(i);
+            if (item == null || item.schedule() == null) {
+                throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST,
+                        "The batch item (" + i + ") has no schedule.");
+            }
+        }
+        return scheduleSolvingService.solveBatch(request.items());
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("batch/{batchId}")
+    public BatchReport getBatchReport(
+            @Parameter(description = "The batch ID returned by the POST method.") @PathParam("batchId") String batchId) {
+        BatchReport report = batchService.getReport(batchId);
+        if (report == null) {
+            throw new EmployeeScheduleSolverException(batchId, Response.Status.NOT_FOUND, "No batch found.");
+        }
+        return report;
+    }
+
+    /**
+     * Drops the queued items of the batch and terminates its solving ones, which keep their best solution so far.
+     */
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("batch/{batchId}")
+    public BatchReport cancelBatch(
+            @Parameter(description = "The batch ID returned by the POST method.") @PathParam("batchId") String batchId) {
+        if (!scheduleSolvingService.cancelBatch(batchId)) {
+            throw new EmployeeScheduleSolverException(batchId, Response.Status.NOT_FOUND, "No batch found.");
+        }
+        return batchService.getReport(batchId);
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("job-store")
+    public JobStoreStatistics getJobStoreStatistics() {
+        return jobStore.getStatistics();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("job-cache")
+    public JobCacheStatistics getJobCacheStatistics() {
+        return jobCache.getStatistics();
     }
 
     @PUT
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces(MediaType.APPLICATION_JSON)
     @Path("analyze")
-    public ScoreAnalysis<HardSoftBigDecimalScore> analyze(EmployeeSchedule problem,
-            @QueryParam("fetchPolicy") ScoreAnalysisFetchPolicy fetchPolicy) {
-        return fetchPolicy == null ? solutionManager.analyze(problem) : solutionManager.analyze(problem, fetchPolicy);
+    public ScoreAnalysis<HardSoftLongScore> analyze(EmployeeSchedule problem,
+            @QueryParam("fetchPolicy") ScoreAnalysisFetchPolicy fetchPolicy,
+            @Parameter(description = "Only the score and match count per constraint, without the matches. Ignored if fetchPolicy is set.")
+            @QueryParam("summary") boolean summary) {
+        return solutionManager.analyze(problem, resolveFetchPolicy(fetchPolicy, summary));
+    }
+
+    /**
+     * Analyzes the latest schedule of the job. The analysis is cached until the job has a new best solution,
+     * so repeated requests only pay for it once.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/analysis")
+    public ScoreAnalysis<HardSoftLongScore> analyzeJob(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @QueryParam("fetchPolicy") ScoreAnalysisFetchPolicy fetchPolicy,
+            @Parameter(description = "Only the score and match count per constraint, without the matches. Ignored if fetchPolicy is set.")
+            @QueryParam("summary") boolean summary) {
+        return scoreAnalysisCache.analyze(jobId, getEmployeeScheduleAndCheckForExceptions(jobId),
+                resolveFetchPolicy(fetchPolicy, summary));
+    }
+
+    private static ScoreAnalysisFetchPolicy resolveFetchPolicy(ScoreAnalysisFetchPolicy fetchPolicy, boolean summary) {
+        if (fetchPolicy != null) {
+            return fetchPolicy;
+        }
+        return summary ? ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT : ScoreAnalysisFetchPolicy.FETCH_ALL;
+    }
+
+    /**
+     * Measures what every constraint costs per incremental score calculation on the given schedule.
+     * Takes some seconds on large schedules, on the profiler's own thread; concurrent requests wait their turn.
+     */
+    @PUT
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("constraint-profile")
+    public CompletionStage<ConstraintProfile> profileConstraints(EmployeeSchedule problem,
+            @Parameter(description = "How many moves to time per constraint. Defaults to the configured move count, at most the configured maximum.")
+            @QueryParam("moveCount") Integer moveCount) {
+        if (problem == null) {
+            throw new EmployeeScheduleSolverException(null, Response.Status.BAD_REQUEST, "No schedule given.");
+        }
+        return profileConstraints(null, problem, moveCount);
+    }
+
+    /**
+     * Like {@code PUT /schedules/constraint-profile}, on the latest schedule of the job.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/constraint-profile")
+    public CompletionStage<ConstraintProfile> profileJobConstraints(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @QueryParam("moveCount") Integer moveCount) {
+        return profileConstraints(jobId, getEmployeeScheduleAndCheckForExceptions(jobId), moveCount);
+    }
+
+    private CompletionStage<ConstraintProfile> profileConstraints(String jobId, EmployeeSchedule schedule,
+            Integer moveCount) {
+        try {
+            return constraintProfiler.profileAsync(schedule, moveCount);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @GET
@@ -123,44 +296,197 @@ public class EmployeeScheduleResource {
     public EmployeeSchedule getEmployeeSchedule(
             @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
         EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
-        SolverStatus solverStatus = solverManager.getSolverStatus(jobId);
+        SolverStatus solverStatus = solverManagerRegistry.getSolverStatus(jobId);
         schedule.setSolverStatus(solverStatus);
         return schedule;
     }
 
-    private EmployeeSchedule getEmployeeScheduleAndCheckForExceptions(String jobId) {
-        Job job = jobIdToJob.get(jobId);
-        if (job == null) {
-            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND, "No schedule found.");
+    /**
+     * Returns how the job is doing: its solver's speeds and counts, and every best score so far with its time.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/stats")
+    public JobStats getJobStats(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
+        JobStats stats = jobTelemetry.getStats(jobId);
+        if (stats == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND, "No stats found.");
         }
-        if (job.exception != null) {
-            throw new EmployeeScheduleSolverException(jobId, job.exception);
+        return stats;
+    }
+
+    /**
+     * Streams the best solutions of the job as Server-Sent Events instead of polling {@code GET /schedules/{jobId}}.
+     * A client that can't keep up only receives the latest best solution.
+     * The stream ends with a {@code finished} or {@code failed} event.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Path("{jobId}/events")
+    public void streamEvents(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @Parameter(description = "Send only the score and the shifts whose employee changed, instead of the whole schedule.")
+            @QueryParam("changesOnly") boolean changesOnly,
+            @Context SseEventSink sink, @Context Sse sse) {
+        getJobAndCheckForExceptions(jobId);
+        scheduleEventBroadcaster.subscribe(jobId, sink, sse, changesOnly, () -> {
+            Job job = jobStore.get(jobId);
+            if (job != null && job.schedule() != null) {
+                job.schedule().setSolverStatus(solverManagerRegistry.getSolverStatus(jobId));
+            }
+            return job;
+        }, () -> solverManagerRegistry.getSolverStatus(jobId) == SolverStatus.NOT_SOLVING);
+    }
+
+    /**
+     * Returns only the score and the shifts whose employee changed after the given version,
+     * instead of the whole schedule. Pass the {@code version} of the last schedule or changes received.
+     * If shifts were added or removed since, {@code resyncRequired} is true and the whole schedule must be fetched.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}/changes")
+    public ScheduleChanges getScheduleChanges(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @Parameter(description = "The version the client already has. Omit it to get every shift.")
+            @QueryParam("sinceVersion") @DefaultValue("-1") long sinceVersion) {
+        Job job = getJobAndCheckForExceptions(jobId);
+        EmployeeSchedule schedule = job.schedule();
+        return new ScheduleChanges(schedule.getVersion(), schedule.getScore(),
+                solverManagerRegistry.getSolverStatus(jobId), job.getShiftsChangedSince(sinceVersion),
+                job.isShiftSetChangedSince(sinceVersion));
+    }
+
+    // The endpoints below change the problem of a running job without restarting it.
+    // They return 202 Accepted once the change is queued; the solver applies it within the batch interval.
+    // The change shows up in the next best solution. A change the solver never applies, because the job stopped
+    // solving first, is counted in the job's stats.
+
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces(MediaType.TEXT_PLAIN)
+    @Path("{jobId}/shifts")
+    public Response addShift(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            Shift shift) {
+        EmployeeSchedule schedule = getSolvingEmployeeSchedule(jobId);
+        if (shift.getStart() == null || shift.getEnd() == null || !shift.getEnd().isAfter(shift.getStart())) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST,
+                    "The shift must have a start before its end.");
+        }
+        if (shift.isPinned()) {
+            if (shift.getEmployee() == null) {
+                throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST,
+                        "A pinned shift must have an employee.");
+            }
+            checkEmployeeExists(jobId, schedule, shift.getEmployee().getName());
         }
-        return job.schedule;
+        if (shift.getId() == null) {
+            shift.setId(UUID.randomUUID().toString());
+        } else if (ProblemChanges.findShift(schedule, shift.getId()) != null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.CONFLICT,
+                    "The shift (" + shift.getId() + ") already exists.");
+        }
+        scheduleSolvingService.submitProblemChange(jobId, new AddShiftProblemChange(shift));
+        return Response.accepted(shift.getId()).build();
     }
 
     @DELETE
-    @Produces(MediaType.APPLICATION_JSON)
-    @Path("{jobId}")
-    public EmployeeSchedule terminateSolving(
-            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
-        solverManager.terminateEarly(jobId);
-        return getEmployeeSchedule(jobId);
+    @Path("{jobId}/shifts/{shiftId}")
+    public Response removeShift(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @PathParam("shiftId") String shiftId) {
+        EmployeeSchedule schedule = getSolvingEmployeeSchedule(jobId);
+        if (ProblemChanges.findShift(schedule, shiftId) == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                    "No shift (" + shiftId + ") found.");
+        }
+        scheduleSolvingService.submitProblemChange(jobId, new RemoveShiftProblemChange(shiftId));
+        return Response.accepted().build();
     }
 
-    private SolverManager<EmployeeSchedule, String> overrideSolverManager(SolverFactory<EmployeeSchedule> solverFactory) {
-        SolverManagerConfig solverManagerConfig = new SolverManagerConfig();
-        return SolverManager.create(solverFactory, solverManagerConfig);
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Path("{jobId}/employees")
+    public Response addEmployee(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            Employee employee) {
+        EmployeeSchedule schedule = getSolvingEmployeeSchedule(jobId);
+        if (employee.getName() == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST,
+                    "The employee must have a name.");
+        }
+        if (ProblemChanges.findEmployee(schedule, employee.getName()) != null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.CONFLICT,
+                    "The employee (" + employee.getName() + ") already exists.");
+        }
+        scheduleSolvingService.submitProblemChange(jobId, new AddEmployeeProblemChange(employee));
+        return Response.accepted().build();
+    }
+
+    @DELETE
+    @Path("{jobId}/employees/{employeeName}")
+    public Response removeEmployee(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @PathParam("employeeName") String employeeName) {
+        checkEmployeeExists(jobId, getSolvingEmployeeSchedule(jobId), employeeName);
+        scheduleSolvingService.submitProblemChange(jobId, new RemoveEmployeeProblemChange(employeeName));
+        return Response.accepted().build();
+    }
+
+    @PUT
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Path("{jobId}/employees/{employeeName}/availability")
+    public Response updateEmployeeAvailability(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId,
+            @PathParam("employeeName") String employeeName, EmployeeAvailability availability) {
+        checkEmployeeExists(jobId, getSolvingEmployeeSchedule(jobId), employeeName);
+        if (availability == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.BAD_REQUEST, "No availability given.");
+        }
+        scheduleSolvingService.submitProblemChange(jobId, new UpdateEmployeeAvailabilityProblemChange(employeeName,
+                availability.unavailableDates(), availability.preferredHolidays()));
+        return Response.accepted().build();
     }
 
-    private record Job(EmployeeSchedule schedule, Throwable exception) {
+    private EmployeeSchedule getSolvingEmployeeSchedule(String jobId) {
+        EmployeeSchedule schedule = getEmployeeScheduleAndCheckForExceptions(jobId);
+        if (solverManagerRegistry.getSolverStatus(jobId) == SolverStatus.NOT_SOLVING) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.CONFLICT,
+                    "The job is not solving, submit a new one instead.");
+        }
+        return schedule;
+    }
 
-        static Job ofSchedule(EmployeeSchedule schedule) {
-            return new Job(schedule, null);
+    private static void checkEmployeeExists(String jobId, EmployeeSchedule schedule, String employeeName) {
+        if (ProblemChanges.findEmployee(schedule, employeeName) == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND,
+                    "No employee (" + employeeName + ") found.");
         }
+    }
 
-        static Job ofException(Throwable error) {
-            return new Job(null, error);
+    private EmployeeSchedule getEmployeeScheduleAndCheckForExceptions(String jobId) {
+        return getJobAndCheckForExceptions(jobId).schedule();
+    }
+
+    private Job getJobAndCheckForExceptions(String jobId) {
+        Job job = jobStore.get(jobId);
+        if (job == null) {
+            throw new EmployeeScheduleSolverException(jobId, Response.Status.NOT_FOUND, "No schedule found.");
+        }
+        if (job.exception() != null) {
+            throw new EmployeeScheduleSolverException(jobId, job.exception());
         }
+        return job;
+    }
+
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("{jobId}")
+    public EmployeeSchedule terminateSolving(
+            @Parameter(description = "The job ID returned by the POST method.") @PathParam("jobId") String jobId) {
+        scheduleSolvingService.terminate(jobId);
+        return getEmployeeSchedule(jobId);
     }
 }
@@ -0,0 +1,268 @@
+package org.acme.employeescheduling.rest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.batch.BatchItem;
+import org.acme.employeescheduling.rest.batch.BatchService;
+import org.acme.employeescheduling.rest.event.ScheduleEventBroadcaster;
+import org.acme.employeescheduling.rest.job.Job;
+import org.acme.employeescheduling.rest.job.JobCache;
+import org.acme.employeescheduling.rest.job.JobStore;
+import org.acme.employeescheduling.rest.telemetry.JobTelemetry;
+import org.acme.employeescheduling.solver.Algorithm;
+import org.acme.employeescheduling.solver.FeasibilityTerminator;
+import org.acme.employeescheduling.solver.PartitionedSolver;
+import org.acme.employeescheduling.solver.PortfolioSolver;
+import org.acme.employeescheduling.solver.ProblemChangeBatcher;
+import org.acme.employeescheduling.solver.SolverManagerRegistry;
+import org.acme.employeescheduling.solver.SolverProfile;
+import org.acme.employeescheduling.solver.TerminationPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts, changes and stops solver jobs, whichever way they solve: with one algorithm, the AUTO profile,
+ * a portfolio race or partitions first, and under any {@link TerminationPolicy}.
+ * Every job keeps its latest best solution in the {@link JobStore}, publishes it to its subscribers
+ * and reports it to the telemetry, until it finishes.
+ */
+@ApplicationScoped
+public class ScheduleSolvingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleSolvingService.class);
+
+    private static final Duration DEFAULT_AFTER_FEASIBLE = Duration.ofSeconds(10);
+
+    private final SolverManagerRegistry solverManagerRegistry;
+    private final JobStore jobStore;
+    private final JobCache jobCache;
+    private final ScheduleEventBroadcaster scheduleEventBroadcaster;
+    private final ProblemChangeBatcher problemChangeBatcher;
+    private final PartitionedSolver partitionedSolver;
+    private final PortfolioSolver portfolioSolver;
+    private final FeasibilityTerminator feasibilityTerminator;
+    private final BatchService batchService;
+    private final JobTelemetry jobTelemetry;
+
+    @Inject
+    public ScheduleSolvingService(SolverManagerRegistry solverManagerRegistry, JobStore jobStore, JobCache jobCache,
+            ScheduleEventBroadcaster scheduleEventBroadcaster, ProblemChangeBatcher problemChangeBatcher,
+            PartitionedSolver partitionedSolver, PortfolioSolver portfolioSolver,
+            FeasibilityTerminator feasibilityTerminator, BatchService batchService, JobTelemetry jobTelemetry) {
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.jobStore = jobStore;
+        this.jobCache = jobCache;
+        this.scheduleEventBroadcaster = scheduleEventBroadcaster;
+        this.problemChangeBatcher = problemChangeBatcher;
+        this.partitionedSolver = partitionedSolver;
+        this.portfolioSolver = portfolioSolver;
+        this.feasibilityTerminator = feasibilityTerminator;
+        this.batchService = batchService;
+        this.jobTelemetry = jobTelemetry;
+    }
+
+    /**
+     * @return the job ID of an identical earlier request if the request allows reuse, or else of a new job
+     */
+    public String solve(SolveRequest request) {
+        if (!request.reuse()) {
+            return startJob(request);
+        }
+        return jobCache.getOrStart(request.problemHash(), () -> startJob(request));
+    }
+
+    /**
+     * Every item becomes an ordinary job once a solver slot is free for it.
+     * Items bypass the job cache, because every item needs a job of its own to hold its solver slot.
+     *
+     * @return the batch ID
+     */
+    public String solveBatch(List<BatchItem> items) {
+        return batchService.submit(items, item -> startJob(new SolveRequest(item.schedule(), item.algorithm(),
+                item.partitioned(),
+                item.termination() == null ? TerminationPolicy.DEFAULT : item.termination(),
+                item.afterFeasibleSeconds() == null ? DEFAULT_AFTER_FEASIBLE
+                        : Duration.ofSeconds(item.afterFeasibleSeconds()),
+                item.maxSeconds() == null ? null : Duration.ofSeconds(item.maxSeconds()),
+                false, false)), this::terminateEarly);
+    }
+
+    /**
+     * Drops the queued items of the batch and terminates its solving ones, which keep their best solution so far.
+     *
+     * @return false if the batch does not exist
+     */
+    public boolean cancelBatch(String batchId) {
+        List<String> solvingJobIds = batchService.cancel(batchId);
+        if (solvingJobIds == null) {
+            return false;
+        }
+        solvingJobIds.forEach(this::terminateEarly);
+        return true;
+    }
+
+    /**
+     * Stops the job at the request of a user. It keeps its best solution so far.
+     */
+    public void terminate(String jobId) {
+        // Its schedule may be far from what an identical problem would get.
+        jobCache.evictJob(jobId);
+        terminateEarly(jobId);
+    }
+
+    /**
+     * Queues a change to the problem of a running job. A change that fails is logged and counted in the job's stats.
+     */
+    public void submitProblemChange(String jobId, ProblemChange<EmployeeSchedule> problemChange) {
+        // The job no longer solves the problem it was cached for.
+        jobCache.evictJob(jobId);
+        problemChangeBatcher.submit(jobId, problemChange)
+                .exceptionally(exception -> {
+                    Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                            ? exception.getCause()
+                            : exception;
+                    LOGGER.warn("Failed applying problem change ({}) to jobId ({}).", problemChange, jobId, cause);
+                    jobTelemetry.onProblemChangeFailed(jobId, cause);
+                    return null;
+                });
+    }
+
+    private String startJob(SolveRequest request) {
+        long submitNanos = System.nanoTime();
+        String jobId = UUID.randomUUID().toString();
+        EmployeeSchedule problem = request.problem();
+        problem.setVersion(0L);
+        // A re-solve starts from a schedule that was timed by its own job.
+        problem.setTimeToFeasibleMillis(null);
+        problem.setTimeToBestMillis(null);
+        problem.updateAvailableEmployees();
+        problem.pinFrozenShifts();
+        jobStore.put(jobId, Job.ofSchedule(problem));
+
+        // A portfolio job polishes the winner of the race on a solver manager of its own.
+        boolean portfolio = PortfolioSolver.isPortfolio(request.algorithm());
+        SolverProfile profile = SolverProfile.isAuto(request.algorithm()) ? SolverProfile.select(problem) : null;
+        Algorithm algorithm = portfolio ? PortfolioSolver.POLISH_ALGORITHM
+                : profile != null ? profile.getAlgorithm() : Algorithm.parse(request.algorithm());
+        if (profile != null && !request.warmStart() && !request.partitioned()) {
+            LOGGER.info("Solving jobId ({}) with the {} profile.", jobId, profile);
+        }
+        SolverConfigOverride<EmployeeSchedule> configOverride = buildConfigOverride(request, portfolio, profile);
+        SolverManager<EmployeeSchedule, String> solverManager = portfolio
+                ? solverManagerRegistry.register(jobId, portfolioSolver.getSolverManager())
+                : solverManagerRegistry.register(jobId, algorithm);
+        if (request.partitioned()) {
+            partitionedSolver.register(jobId);
+        }
+        if (portfolio) {
+            portfolioSolver.register(jobId);
+        }
+        jobTelemetry.onSubmitted(jobId,
+                portfolio ? PortfolioSolver.PORTFOLIO : profile != null ? SolverProfile.AUTO : algorithm.name(),
+                submitNanos);
+        Consumer<EmployeeSchedule> bestSolutionConsumer = solution -> onBestSolution(jobId, request, submitNanos,
+                solution);
+        Instant deadline = request.maxSpent() == null ? null : Instant.now().plus(request.maxSpent());
+        if (deadline != null && (request.partitioned() || portfolio)) {
+            // The spent limit of its own solve only starts once its partitions or race are done.
+            feasibilityTerminator.scheduleDeadline(jobId, deadline, () -> terminateEarly(jobId));
+        }
+
+        SolverJob<EmployeeSchedule, String> solverJob = solverManager.solveBuilder()
+                .withProblemId(jobId)
+                // Runs on the solver thread, while the job is already SOLVING_ACTIVE.
+                .withProblemFinder(jobId_ -> {
+                    jobTelemetry.onStarted(jobId);
+                    // The solver works on a copy, so the stored schedule can be written and read while it solves.
+                    EmployeeSchedule schedule = jobStore.get(jobId).schedule().copyProblem();
+                    if (request.partitioned()) {
+                        schedule = partitionedSolver.solvePartitions(jobId, schedule, algorithm, deadline,
+                                request.termination());
+                    }
+                    if (portfolio) {
+                        schedule = portfolioSolver.race(jobId, schedule, deadline, request.termination(),
+                                bestSolutionConsumer);
+                    }
+                    // Only now, because the partitions and the contestants take solver slots of their own.
+                    solverManagerRegistry.acquireSlot(jobId);
+                    return schedule;
+                })
+                .withConfigOverride(configOverride)
+                .withBestSolutionConsumer(bestSolutionConsumer)
+                .withFinalBestSolutionConsumer(solution -> finish(jobId, null))
+                .withExceptionHandler((jobId_, exception) -> {
+                    jobStore.put(jobId, Job.ofException(exception));
+                    finish(jobId, exception);
+                    LOGGER.error("Failed solving jobId ({}).", jobId, exception);
+                })
+                .run();
+        jobTelemetry.setSolverJob(jobId, solverJob);
+        return jobId;
+    }
+
+    /**
+     * A partitioned or portfolio job only polishes a good solution in its own solve, so it gets the warm start limits.
+     */
+    private SolverConfigOverride<EmployeeSchedule> buildConfigOverride(SolveRequest request, boolean portfolio,
+            SolverProfile profile) {
+        SolverConfigOverride<EmployeeSchedule> configOverride = request.partitioned() || portfolio
+                ? solverManagerRegistry.buildWarmStartConfigOverride()
+                : solverManagerRegistry.buildConfigOverride(profile, request.warmStart());
+        return solverManagerRegistry.applyTerminationPolicy(configOverride, request.termination(),
+                request.maxSpent());
+    }
+
+    private void onBestSolution(String jobId, SolveRequest request, long submitNanos, EmployeeSchedule solution) {
+        solution.setSolverStatus(SolverStatus.SOLVING_ACTIVE);
+        Job previousJob = jobStore.get(jobId);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitNanos);
+        solution.setTimeToBestMillis(elapsedMillis);
+        Long timeToFeasibleMillis = previousJob == null || previousJob.schedule() == null
+                ? null
+                : previousJob.schedule().getTimeToFeasibleMillis();
+        solution.setTimeToFeasibleMillis(timeToFeasibleMillis == null && solution.getScore().isFeasible()
+                ? Long.valueOf(elapsedMillis)
+                : timeToFeasibleMillis);
+        Job job = Job.ofNextSchedule(previousJob, solution);
+        jobStore.put(jobId, job);
+        scheduleEventBroadcaster.publish(jobId, job);
+        jobTelemetry.onBestSolution(jobId, solution.getScore(), elapsedMillis);
+        feasibilityTerminator.onBestSolution(jobId, request.termination(), request.afterFeasible(),
+                solution.getScore(), () -> terminateEarly(jobId));
+    }
+
+    private void finish(String jobId, Throwable exception) {
+        feasibilityTerminator.cancel(jobId);
+        solverManagerRegistry.unregister(jobId);
+        partitionedSolver.unregister(jobId);
+        portfolioSolver.unregister(jobId);
+        batchService.onJobFinished(jobId, exception);
+        jobTelemetry.onFinished(jobId, exception);
+        jobStore.markFinished(jobId);
+        scheduleEventBroadcaster.finish(jobId, exception == null ? null
+                : Objects.toString(exception.getMessage(), exception.getClass().getName()));
+    }
+
+    private void terminateEarly(String jobId) {
+        partitionedSolver.terminateEarly(jobId);
+        portfolioSolver.terminateEarly(jobId);
+        solverManagerRegistry.terminateEarly(jobId);
+    }
+}
@@ -0,0 +1,29 @@
+package org.acme.employeescheduling.rest;
+
+import java.time.Duration;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.job.ProblemHash;
+import org.acme.employeescheduling.solver.TerminationPolicy;
+
+/**
+ * A problem to solve with the settings of the query parameters of {@code POST /schedules}.
+ *
+ * @param algorithm an {@link org.acme.employeescheduling.solver.Algorithm}, {@code AUTO} or {@code PORTFOLIO},
+ * or null for the default
+ * @param afterFeasible how long the {@code FEASIBLE_THEN_*} termination policies keep solving
+ * @param maxSpent the most time the job may take, or null for its configured time limits
+ * @param reuse return the job of an identical earlier request, if any, instead of solving again
+ * @param warmStart the assigned shifts are already a good solution, so the shorter warm start time limits apply
+ */
+public record SolveRequest(EmployeeSchedule problem, String algorithm, boolean partitioned,
+        TerminationPolicy termination, Duration afterFeasible, Duration maxSpent, boolean reuse, boolean warmStart) {
+
+    /**
+     * The hash of the problem and of every setting that decides its solution.
+     */
+    String problemHash() {
+        return ProblemHash.of(problem, algorithm, partitioned, termination,
+                termination == TerminationPolicy.DEFAULT ? null : afterFeasible, maxSpent, warmStart);
+    }
+}
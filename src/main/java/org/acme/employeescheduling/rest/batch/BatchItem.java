@@ -0,0 +1,14 @@
+package org.acme.employeescheduling.rest.batch;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.solver.TerminationPolicy;
+
+/**
+ * One schedule of a batch, with the same settings as the query parameters of {@code POST /schedules}.
+ * Missing settings get the same defaults.
+ *
+ * @param name optional, to recognize the item in the report, for example the site
+ */
+public record BatchItem(String name, String algorithm, boolean partitioned, TerminationPolicy termination,
+        Long afterFeasibleSeconds, Long maxSeconds, EmployeeSchedule schedule) {
+}
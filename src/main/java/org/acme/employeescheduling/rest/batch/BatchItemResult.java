@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.rest.batch;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+/**
+ * @param jobId null while queued, else the job whose schedule {@code GET /schedules/{jobId}} returns
+ * @param score null until the first best solution
+ * @param errorMessage null unless the status is {@link BatchItemStatus#FAILED}
+ */
+public record BatchItemResult(int index, String name, String jobId, BatchItemStatus status, HardSoftLongScore score,
+        Long timeToFeasibleMillis, String errorMessage) {
+}
@@ -0,0 +1,9 @@
+package org.acme.employeescheduling.rest.batch;
+
+public enum BatchItemStatus {
+    QUEUED,
+    SOLVING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package org.acme.employeescheduling.rest.batch;
+
+/**
+ * @param finished true once no item is queued or solving
+ */
+public record BatchProgress(String batchId, boolean finished, int queuedCount, int solvingCount, int completedCount,
+        int failedCount, int cancelledCount, int totalCount, int feasibleCount) {
+}
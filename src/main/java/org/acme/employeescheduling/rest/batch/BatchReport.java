@@ -0,0 +1,9 @@
+package org.acme.employeescheduling.rest.batch;
+
+import java.util.List;
+
+/**
+ * @param items in the order of the request
+ */
+public record BatchReport(BatchProgress progress, List<BatchItemResult> items) {
+}
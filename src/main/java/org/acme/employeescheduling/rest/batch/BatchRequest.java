@@ -0,0 +1,6 @@
+package org.acme.employeescheduling.rest.batch;
+
+import java.util.List;
+
+public record BatchRequest(List<BatchItem> items) {
+}
@@ -0,0 +1,198 @@
+package org.acme.employeescheduling.rest.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.job.Job;
+import org.acme.employeescheduling.rest.job.JobStore;
+
+/**
+ * The state of one batch. Guarded by the {@link BatchService} that owns it.
+ * An item's schedule is let go once its job has started, because the job store has it from then on.
+ */
+final class BatchRun {
+
+    private final String batchId;
+    private final Function<BatchItem, String> launcher;
+    private final Consumer<String> terminator;
+    private final int size;
+    private final String[] names;
+    private final BatchItem[] pendingItems;
+    private final BatchItemStatus[] statuses;
+    private final String[] jobIds;
+    // Copied from the job store when an item finishes, because finished jobs can be evicted from it.
+    private final HardSoftLongScore[] scores;
+    private final Long[] timeToFeasibleMillis;
+    private final String[] errorMessages;
+    private int nextIndex = 0;
+    private int startingCount = 0;
+    private int solvingCount = 0;
+    private boolean cancelled = false;
+    private long finishNanos = 0L;
+
+    BatchRun(String batchId, List<BatchItem> items, Function<BatchItem, String> launcher,
+            Consumer<String> terminator) {
+        this.batchId = batchId;
+        this.launcher = launcher;
+        this.terminator = terminator;
+        size = items.size();
+        names = new String[size];
+        pendingItems = items.toArray(new BatchItem[0]);
+        statuses = new BatchItemStatus[size];
+        jobIds = new String[size];
+        scores = new HardSoftLongScore[size];
+        timeToFeasibleMillis = new Long[size];
+        errorMessages = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = pendingItems[i].name();
+            statuses[i] = BatchItemStatus.QUEUED;
+        }
+    }
+
+    String getBatchId() {
+        return batchId;
+    }
+
+    boolean hasQueuedItems() {
+        return nextIndex < size;
+    }
+
+    /**
+     * Takes the next queued item, which stays {@link BatchItemStatus#QUEUED} until {@link #started(int, String)}.
+     *
+     * @return the index of the item, to pass to {@link #launch(int)}
+     */
+    int takeNext() {
+        startingCount++;
+        return nextIndex++;
+    }
+
+    /**
+     * Starts the job of a taken item. Call without holding the lock of the service, because it submits a job.
+     *
+     * @return the job ID
+     */
+    String launch(int index) {
+        return launcher.apply(pendingItems[index]);
+    }
+
+    /**
+     * @return true if the batch was cancelled while the job started, so the caller must terminate it early
+     */
+    boolean started(int index, String jobId) {
+        startingCount--;
+        solvingCount++;
+        pendingItems[index] = null;
+        jobIds[index] = jobId;
+        statuses[index] = BatchItemStatus.SOLVING;
+        return cancelled;
+    }
+
+    void failedToStart(int index, RuntimeException exception) {
+        startingCount--;
+        pendingItems[index] = null;
+        statuses[index] = BatchItemStatus.FAILED;
+        errorMessages[index] = toErrorMessage(exception);
+        updateFinishNanos();
+    }
+
+    void terminateEarly(String jobId) {
+        terminator.accept(jobId);
+    }
+
+    void finish(String jobId, Throwable exception, Job job) {
+        solvingCount--;
+        updateFinishNanos();
+        for (int i = 0; i < size; i++) {
+            if (jobId.equals(jobIds[i])) {
+                if (exception != null) {
+                    statuses[i] = BatchItemStatus.FAILED;
+                    errorMessages[i] = toErrorMessage(exception);
+                } else {
+                    statuses[i] = BatchItemStatus.COMPLETED;
+                    if (job != null && job.schedule() != null) {
+                        scores[i] = job.schedule().getScore();
+                        timeToFeasibleMillis[i] = job.schedule().getTimeToFeasibleMillis();
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the queued items.
+     *
+     * @return the job IDs of the solving items, to terminate early
+     */
+    List<String> cancel() {
+        cancelled = true;
+        for (int i = nextIndex; i < size; i++) {
+            statuses[i] = BatchItemStatus.CANCELLED;
+            pendingItems[i] = null;
+        }
+        nextIndex = size;
+        updateFinishNanos();
+        List<String> solvingJobIds = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == BatchItemStatus.SOLVING) {
+                solvingJobIds.add(jobIds[i]);
+            }
+        }
+        return solvingJobIds;
+    }
+
+    /**
+     * @return true if every item has ended at least the given time ago
+     */
+    boolean isFinishedFor(long timeToLiveNanos, long nowNanos) {
+        return finishNanos != 0L && nowNanos - finishNanos >= timeToLiveNanos;
+    }
+
+    private void updateFinishNanos() {
+        if (!hasQueuedItems() && startingCount == 0 && solvingCount == 0) {
+            finishNanos = System.nanoTime();
+        }
+    }
+
+    BatchReport toReport(JobStore jobStore) {
+        List<BatchItemResult> results = new ArrayList<>(size);
+        int[] statusCounts = new int[BatchItemStatus.values().length];
+        int feasibleCount = 0;
+        for (int i = 0; i < size; i++) {
+            HardSoftLongScore score = scores[i];
+            Long itemTimeToFeasibleMillis = timeToFeasibleMillis[i];
+            if (statuses[i] == BatchItemStatus.SOLVING) {
+                Job job = jobStore.get(jobIds[i]);
+                EmployeeSchedule schedule = job == null ? null : job.schedule();
+                if (schedule != null) {
+                    score = schedule.getScore();
+                    itemTimeToFeasibleMillis = schedule.getTimeToFeasibleMillis();
+                }
+            }
+            statusCounts[statuses[i].ordinal()]++;
+            if (statuses[i] == BatchItemStatus.COMPLETED && score != null && score.isFeasible()) {
+                feasibleCount++;
+            }
+            results.add(new BatchItemResult(i, names[i], jobIds[i], statuses[i], score, itemTimeToFeasibleMillis,
+                    errorMessages[i]));
+        }
+        int queuedCount = statusCounts[BatchItemStatus.QUEUED.ordinal()];
+        int solvingCount = statusCounts[BatchItemStatus.SOLVING.ordinal()];
+        BatchProgress progress = new BatchProgress(batchId, queuedCount == 0 && solvingCount == 0,
+                queuedCount, solvingCount, statusCounts[BatchItemStatus.COMPLETED.ordinal()],
+                statusCounts[BatchItemStatus.FAILED.ordinal()], statusCounts[BatchItemStatus.CANCELLED.ordinal()],
+                size, feasibleCount);
+        return new BatchReport(progress, results);
+    }
+
+    private static String toErrorMessage(Throwable exception) {
+        return Objects.toString(exception.getMessage(), exception.getClass().getName());
+    }
+}
@@ -0,0 +1,176 @@
+package org.acme.employeescheduling.rest.batch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+
+import org.acme.employeescheduling.rest.job.JobStore;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the items of batches and starts them as ordinary jobs, at most one per solver slot at a time,
+ * so a large batch does not take every solver slot.
+ * Batches take turns: every free slot goes to the next batch in round-robin order that still has queued items,
+ * so a batch submitted after a large one does not wait for all of it.
+ */
+@ApplicationScoped
+public class BatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchService.class);
+
+    private final JobStore jobStore;
+    private final int slotCount;
+    private final long finishedRunTimeToLiveNanos;
+
+    private final Map<String, BatchRun> batchIdToRun = new HashMap<>();
+    private final Map<String, BatchRun> jobIdToRun = new HashMap<>();
+    // The batches with queued items, the next one to start an item first.
+    private final Deque<BatchRun> turnQueue = new ArrayDeque<>();
+    private int solvingCount = 0;
+    // Jobs are started without holding the lock, so a job can finish before it is known to be a batch item.
+    private int startingCount = 0;
+    private final Map<String, Throwable> jobIdToEarlyException = new HashMap<>();
+
+    @Inject
+    public BatchService(JobStore jobStore,
+            @ConfigProperty(name = "employee-scheduling.batch.parallel-solver-count", defaultValue = "AUTO") String parallelSolverCount,
+            @ConfigProperty(name = "employee-scheduling.job-store.finished-job-time-to-live", defaultValue = "1h") Duration finishedRunTimeToLive) {
+        this.jobStore = jobStore;
+        this.slotCount = new SolverManagerConfig().withParallelSolverCount(parallelSolverCount)
+                .resolveParallelSolverCount();
+        this.finishedRunTimeToLiveNanos = finishedRunTimeToLive.toNanos();
+    }
+
+    /**
+     * @param launcher starts the job of an item and returns its job ID. Called without holding the lock of this service.
+     * @param terminator terminates the job of an item early, if it was started while the batch was cancelled
+     * @return the batch ID
+     */
+    public String submit(List<BatchItem> items, Function<BatchItem, String> launcher, Consumer<String> terminator) {
+        String batchId = UUID.randomUUID().toString();
+        synchronized (this) {
+            evict();
+            BatchRun run = new BatchRun(batchId, items, launcher, terminator);
+            batchIdToRun.put(batchId, run);
+            turnQueue.addLast(run);
+        }
+        LOGGER.info("Queued batch ({}) of {} schedules.", batchId, items.size());
+        startQueuedItems();
+        return batchId;
+    }
+
+    /**
+     * @return null if the batch does not exist
+     */
+    public synchronized BatchReport getReport(String batchId) {
+        evict();
+        BatchRun run = batchIdToRun.get(batchId);
+        return run == null ? null : run.toReport(jobStore);
+    }
+
+    /**
+     * Drops the queued items of the batch.
+     *
+     * @return the job IDs of its solving items, for the caller to terminate early, or null if the batch does not exist
+     */
+    public synchronized List<String> cancel(String batchId) {
+        evict();
+        BatchRun run = batchIdToRun.get(batchId);
+        if (run == null) {
+            return null;
+        }
+        turnQueue.remove(run);
+        return run.cancel();
+    }
+
+    /**
+     * Frees the slot of the job, if it is a batch item, and starts the next queued item.
+     * Call for every job once it has finished, successfully or not.
+     */
+    public void onJobFinished(String jobId, Throwable exception) {
+        synchronized (this) {
+            BatchRun run = jobIdToRun.remove(jobId);
+            if (run == null) {
+                if (startingCount > 0) {
+                    jobIdToEarlyException.put(jobId, exception);
+                }
+                return;
+            }
+            finish(run, jobId, exception);
+        }
+        startQueuedItems();
+    }
+
+    private void finish(BatchRun run, String jobId, Throwable exception) {
+        run.finish(jobId, exception, jobStore.get(jobId));
+        solvingCount--;
+    }
+
+    private void startQueuedItems() {
+        while (true) {
+            BatchRun run;
+            int index;
+            synchronized (this) {
+                if (solvingCount >= slotCount || turnQueue.isEmpty()) {
+                    return;
+                }
+                run = turnQueue.pollFirst();
+                index = run.takeNext();
+                if (run.hasQueuedItems()) {
+                    turnQueue.addLast(run);
+                }
+                // Takes the slot now, so concurrent callers don't start more items than there are slots.
+                solvingCount++;
+                startingCount++;
+            }
+            String jobId = null;
+            RuntimeException exception = null;
+            try {
+                jobId = run.launch(index);
+            } catch (RuntimeException e) {
+                exception = e;
+            }
+            boolean terminate;
+            synchronized (this) {
+                startingCount--;
+                if (exception != null) {
+                    run.failedToStart(index, exception);
+                    solvingCount--;
+                    terminate = false;
+                } else {
+                    terminate = run.started(index, jobId);
+                    if (jobIdToEarlyException.containsKey(jobId)) {
+                        finish(run, jobId, jobIdToEarlyException.remove(jobId));
+                        terminate = false;
+                    } else {
+                        jobIdToRun.put(jobId, run);
+                    }
+                }
+                if (startingCount == 0) {
+                    jobIdToEarlyException.clear();
+                }
+            }
+            if (terminate) {
+                run.terminateEarly(jobId);
+            }
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        batchIdToRun.values().removeIf(run -> run.isFinishedFor(finishedRunTimeToLiveNanos, now));
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.Algorithm;
+
+/**
+ * @param currentDataset null unless a solve is running
+ * @param currentAlgorithm null unless a solve is running
+ */
+public record BenchmarkProgress(String benchmarkId, BenchmarkStatus status, int completedSolveCount,
+        int totalSolveCount, DemoData currentDataset, Algorithm currentAlgorithm) {
+}
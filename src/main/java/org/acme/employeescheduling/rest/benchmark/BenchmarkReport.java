@@ -0,0 +1,15 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.ConstraintProfile;
+
+/**
+ * @param constraintProfiles empty unless the request asked to profile the constraints
+ * @param errorMessage null unless the status is {@link BenchmarkStatus#FAILED}
+ */
+public record BenchmarkReport(BenchmarkProgress progress, List<BenchmarkResult> results,
+        Map<DemoData, ConstraintProfile> constraintProfiles, String errorMessage) {
+}
@@ -0,0 +1,17 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.Algorithm;
+
+/**
+ * Every algorithm solves every dataset. Empty or missing lists mean all of them.
+ * Missing time limits fall back to the {@code employee-scheduling.benchmark.*} properties.
+ *
+ * @param profileConstraints also measure what every constraint costs on every dataset, before solving it
+ */
+public record BenchmarkRequest(List<DemoData> datasets, List<Algorithm> algorithms, Duration spentLimit,
+        Duration unimprovedSpentLimit, boolean profileConstraints) {
+}
@@ -0,0 +1,14 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.Algorithm;
+
+/**
+ * @param timeToFeasibleMillis null if no feasible solution was found
+ */
+public record BenchmarkResult(DemoData dataset, Algorithm algorithm, HardSoftLongScore bestScore, boolean feasible,
+        Long timeToFeasibleMillis, long timeToBestMillis, long solvingTimeMillis, long scoreCalculationSpeed,
+        long moveEvaluationSpeed) {
+}
@@ -0,0 +1,165 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.Algorithm;
+import org.acme.employeescheduling.solver.ConstraintProfile;
+
+/**
+ * The state of one benchmark run, written by the benchmark thread and read by REST requests.
+ */
+final class BenchmarkRun {
+
+    private final String benchmarkId;
+    private final List<DemoData> datasets;
+    private final List<Algorithm> algorithms;
+    private final TerminationConfig terminationConfig;
+    private final boolean profileConstraints;
+
+    private BenchmarkStatus status = BenchmarkStatus.QUEUED;
+    private final List<BenchmarkResult> results = new ArrayList<>();
+    private final Map<DemoData, ConstraintProfile> constraintProfiles = new EnumMap<>(DemoData.class);
+    private DemoData currentDataset;
+    private Algorithm currentAlgorithm;
+    private SolverJob<EmployeeSchedule, String> currentSolverJob;
+    private String errorMessage;
+    // When the run completed, failed or was cancelled, 0 until then.
+    private long finishNanos = 0L;
+
+    BenchmarkRun(String benchmarkId, List<DemoData> datasets, List<Algorithm> algorithms,
+            TerminationConfig terminationConfig, boolean profileConstraints) {
+        this.benchmarkId = benchmarkId;
+        this.datasets = List.copyOf(datasets);
+        this.algorithms = List.copyOf(algorithms);
+        this.terminationConfig = terminationConfig;
+        this.profileConstraints = profileConstraints;
+    }
+
+    String getBenchmarkId() {
+        return benchmarkId;
+    }
+
+    List<DemoData> getDatasets() {
+        return datasets;
+    }
+
+    List<Algorithm> getAlgorithms() {
+        return algorithms;
+    }
+
+    TerminationConfig getTerminationConfig() {
+        return terminationConfig;
+    }
+
+    boolean isProfileConstraints() {
+        return profileConstraints;
+    }
+
+    /**
+     * @return false if the run was cancelled, so the constraints must not be profiled
+     */
+    synchronized boolean isRunning() {
+        return status == BenchmarkStatus.RUNNING;
+    }
+
+    synchronized void addConstraintProfile(DemoData dataset, ConstraintProfile constraintProfile) {
+        if (status == BenchmarkStatus.RUNNING) {
+            constraintProfiles.put(dataset, constraintProfile);
+        }
+    }
+
+    /**
+     * @return false if the run was cancelled while it was queued
+     */
+    synchronized boolean start() {
+        if (status != BenchmarkStatus.QUEUED) {
+            return false;
+        }
+        status = BenchmarkStatus.RUNNING;
+        return true;
+    }
+
+    /**
+     * @return false if the run was cancelled, so the solve must not start
+     */
+    synchronized boolean startSolving(DemoData dataset, Algorithm algorithm) {
+        if (status != BenchmarkStatus.RUNNING) {
+            return false;
+        }
+        currentDataset = dataset;
+        currentAlgorithm = algorithm;
+        return true;
+    }
+
+    synchronized void setCurrentSolverJob(SolverJob<EmployeeSchedule, String> solverJob) {
+        currentSolverJob = solverJob;
+        if (status == BenchmarkStatus.CANCELLED) {
+            solverJob.terminateEarly();
+        }
+    }
+
+    /**
+     * The result of a solve that was terminated by {@link #cancel()} is dropped, because it ran for less than
+     * the requested time.
+     */
+    synchronized void finishSolving(BenchmarkResult result) {
+        if (status == BenchmarkStatus.RUNNING) {
+            results.add(result);
+        }
+        currentDataset = null;
+        currentAlgorithm = null;
+        currentSolverJob = null;
+    }
+
+    synchronized void complete() {
+        if (status == BenchmarkStatus.RUNNING) {
+            status = BenchmarkStatus.COMPLETED;
+            finishNanos = System.nanoTime();
+        }
+    }
+
+    synchronized void fail(Throwable exception) {
+        status = BenchmarkStatus.FAILED;
+        finishNanos = System.nanoTime();
+        errorMessage = Objects.toString(exception.getMessage(), exception.getClass().getName());
+        currentDataset = null;
+        currentAlgorithm = null;
+        currentSolverJob = null;
+    }
+
+    synchronized void cancel() {
+        if (status != BenchmarkStatus.QUEUED && status != BenchmarkStatus.RUNNING) {
+            return;
+        }
+        status = BenchmarkStatus.CANCELLED;
+        finishNanos = System.nanoTime();
+        if (currentSolverJob != null) {
+            currentSolverJob.terminateEarly();
+        }
+    }
+
+    /**
+     * @return true if the run finished at least the given time ago
+     */
+    synchronized boolean isFinishedFor(long nanos, long now) {
+        return finishNanos != 0L && now - finishNanos >= nanos;
+    }
+
+    synchronized BenchmarkProgress toProgress() {
+        return new BenchmarkProgress(benchmarkId, status, results.size(), datasets.size() * algorithms.size(),
+                currentDataset, currentAlgorithm);
+    }
+
+    synchronized BenchmarkReport toReport() {
+        return new BenchmarkReport(toProgress(), List.copyOf(results), Map.copyOf(constraintProfiles), errorMessage);
+    }
+}
@@ -0,0 +1,214 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.acme.employeescheduling.solver.Algorithm;
+import org.acme.employeescheduling.solver.ConstraintProfiler;
+import org.acme.employeescheduling.solver.SolverManagerRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs benchmarks in the background, one run and one solve at a time,
+ * so they neither compete with each other for CPU nor take solver slots from the schedules being solved.
+ * Every solve gets its own {@link SolverManager}, built from {@link SolverManagerRegistry#buildSolverConfig(Algorithm)},
+ * so a benchmark measures exactly what {@code POST /schedules} runs.
+ * A run is forgotten once it has been finished for longer than the job store keeps finished jobs.
+ */
+@ApplicationScoped
+public class BenchmarkService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkService.class);
+
+    private final SolverManagerRegistry solverManagerRegistry;
+    private final DemoDataGenerator demoDataGenerator;
+    private final ConstraintProfiler constraintProfiler;
+    private final Duration defaultSpentLimit;
+    private final Duration defaultUnimprovedSpentLimit;
+    private final long finishedRunTimeToLiveNanos;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final ConcurrentMap<String, BenchmarkRun> benchmarkIdToRun = new ConcurrentHashMap<>();
+
+    @Inject
+    public BenchmarkService(SolverManagerRegistry solverManagerRegistry, DemoDataGenerator demoDataGenerator,
+            ConstraintProfiler constraintProfiler,
+            @ConfigProperty(name = "employee-scheduling.benchmark.spent-limit", defaultValue = "120s") Duration defaultSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.benchmark.unimproved-spent-limit", defaultValue = "5s") Duration defaultUnimprovedSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.job-store.finished-job-time-to-live", defaultValue = "1h") Duration finishedRunTimeToLive) {
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.demoDataGenerator = demoDataGenerator;
+        this.constraintProfiler = constraintProfiler;
+        this.defaultSpentLimit = defaultSpentLimit;
+        this.defaultUnimprovedSpentLimit = defaultUnimprovedSpentLimit;
+        this.finishedRunTimeToLiveNanos = finishedRunTimeToLive.toNanos();
+    }
+
+    public String submit(BenchmarkRequest request) {
+        List<DemoData> datasets = request.datasets() == null || request.datasets().isEmpty()
+                ? Arrays.asList(DemoData.values())
+                : request.datasets();
+        List<Algorithm> algorithms = request.algorithms() == null || request.algorithms().isEmpty()
+                ? Arrays.asList(Algorithm.values())
+                : request.algorithms();
+        TerminationConfig terminationConfig = new TerminationConfig()
+                .withSpentLimit(request.spentLimit() == null ? defaultSpentLimit : request.spentLimit())
+                .withUnimprovedSpentLimit(request.unimprovedSpentLimit() == null
+                        ? defaultUnimprovedSpentLimit
+                        : request.unimprovedSpentLimit());
+
+        evict();
+        String benchmarkId = UUID.randomUUID().toString();
+        BenchmarkRun run = new BenchmarkRun(benchmarkId, datasets, algorithms, terminationConfig,
+                request.profileConstraints());
+        benchmarkIdToRun.put(benchmarkId, run);
+        executorService.execute(() -> execute(run));
+        return benchmarkId;
+    }
+
+    /**
+     * @return null if the benchmark does not exist
+     */
+    public BenchmarkProgress getProgress(String benchmarkId) {
+        BenchmarkRun run = getRun(benchmarkId);
+        return run == null ? null : run.toProgress();
+    }
+
+    /**
+     * @return null if the benchmark does not exist
+     */
+    public BenchmarkReport getReport(String benchmarkId) {
+        BenchmarkRun run = getRun(benchmarkId);
+        return run == null ? null : run.toReport();
+    }
+
+    /**
+     * @return null if the benchmark does not exist
+     */
+    public BenchmarkReport cancel(String benchmarkId) {
+        BenchmarkRun run = getRun(benchmarkId);
+        if (run == null) {
+            return null;
+        }
+        run.cancel();
+        return run.toReport();
+    }
+
+    private BenchmarkRun getRun(String benchmarkId) {
+        evict();
+        return benchmarkIdToRun.get(benchmarkId);
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        benchmarkIdToRun.values().removeIf(run -> run.isFinishedFor(finishedRunTimeToLiveNanos, now));
+    }
+
+    private void execute(BenchmarkRun run) {
+        if (!run.start()) {
+            return;
+        }
+        LOGGER.info("Started benchmark ({}) of algorithms {} on datasets {}.",
+                run.getBenchmarkId(), run.getAlgorithms(), run.getDatasets());
+        try {
+            for (DemoData dataset : run.getDatasets()) {
+                if (run.isProfileConstraints()) {
+                    if (!run.isRunning()) {
+                        return;
+                    }
+                    run.addConstraintProfile(dataset,
+                            constraintProfiler.profile(demoDataGenerator.generateDemoData(dataset)));
+                }
+                for (Algorithm algorithm : run.getAlgorithms()) {
+                    if (!run.startSolving(dataset, algorithm)) {
+                        return;
+                    }
+                    run.finishSolving(solve(run, dataset, algorithm));
+                }
+            }
+            run.complete();
+            LOGGER.info("Finished benchmark ({}).", run.getBenchmarkId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } catch (Exception e) {
+            run.fail(e);
+            LOGGER.error("Failed benchmark ({}).", run.getBenchmarkId(), e);
+        }
+    }
+
+    private BenchmarkResult solve(BenchmarkRun run, DemoData dataset, Algorithm algorithm)
+            throws InterruptedException, ExecutionException {
+        EmployeeSchedule problem = demoDataGenerator.generateDemoData(dataset);
+        SolverConfig solverConfig = solverManagerRegistry.buildSolverConfig(algorithm)
+                .withTerminationConfig(run.getTerminationConfig());
+        AtomicLong startNanos = new AtomicLong(System.nanoTime());
+        AtomicLong timeToBestNanos = new AtomicLong();
+        AtomicReference<Long> timeToFeasibleNanos = new AtomicReference<>();
+        AtomicReference<HardSoftLongScore> consumedBestScore = new AtomicReference<>();
+        try (SolverManager<EmployeeSchedule, String> solverManager = SolverManager.create(
+                SolverFactory.create(solverConfig), new SolverManagerConfig().withParallelSolverCount("1"))) {
+            // Timings are taken when the consumers see a new best solution, which can lag the solver by a few ms.
+            SolverJob<EmployeeSchedule, String> solverJob = solverManager.solveBuilder()
+                    .withProblemId(dataset + "/" + algorithm)
+                    .withProblem(problem)
+                    .withSolverJobStartedConsumer(solution -> startNanos.set(System.nanoTime()))
+                    .withBestSolutionConsumer(solution -> {
+                        long elapsedNanos = System.nanoTime() - startNanos.get();
+                        timeToBestNanos.set(elapsedNanos);
+                        consumedBestScore.set(solution.getScore());
+                        if (solution.getScore() != null && solution.getScore().isFeasible()) {
+                            timeToFeasibleNanos.compareAndSet(null, elapsedNanos);
+                        }
+                    })
+                    .run();
+            run.setCurrentSolverJob(solverJob);
+            HardSoftLongScore bestScore = solverJob.getFinalBestSolution().getScore();
+            long solvingTimeMillis = solverJob.getSolvingDuration().toMillis();
+            // The consumers can skip a best solution that the final one replaced before they got to it.
+            // Then the solving time is the best known upper bound.
+            long timeToBestMillis = bestScore.equals(consumedBestScore.get())
+                    ? TimeUnit.NANOSECONDS.toMillis(timeToBestNanos.get())
+                    : solvingTimeMillis;
+            Long timeToFeasibleMillis = timeToFeasibleNanos.get() != null
+                    ? Long.valueOf(TimeUnit.NANOSECONDS.toMillis(timeToFeasibleNanos.get()))
+                    : bestScore.isFeasible() ? Long.valueOf(timeToBestMillis) : null;
+            return new BenchmarkResult(dataset, algorithm, bestScore, bestScore.isFeasible(), timeToFeasibleMillis,
+                    timeToBestMillis, solvingTimeMillis,
+                    solverJob.getScoreCalculationSpeed(), solverJob.getMoveEvaluationSpeed());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        benchmarkIdToRun.values().forEach(BenchmarkRun::cancel);
+        executorService.shutdownNow();
+    }
+}
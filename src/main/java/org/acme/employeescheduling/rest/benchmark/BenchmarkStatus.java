@@ -0,0 +1,9 @@
+package org.acme.employeescheduling.rest.benchmark;
+
+public enum BenchmarkStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
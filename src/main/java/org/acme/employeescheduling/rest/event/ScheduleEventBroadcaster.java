@@ -0,0 +1,118 @@
+package org.acme.employeescheduling.rest.event;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.acme.employeescheduling.rest.job.Job;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes the best solutions of running jobs to Server-Sent Events clients.
+ * {@link #publish(String, Job)} only hands the job over, so it never blocks the solver.
+ */
+@ApplicationScoped
+public class ScheduleEventBroadcaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleEventBroadcaster.class);
+
+    private final ExecutorService executorService;
+    private final ConcurrentMap<String, List<ScheduleEventSubscriber>> jobIdToSubscribers = new ConcurrentHashMap<>();
+
+    /**
+     * @param threadCount how many events are built at the same time, over all streams.
+     * A thread only builds and hands over an event: it does not wait for it to be written.
+     */
+    @Inject
+    public ScheduleEventBroadcaster(
+            @ConfigProperty(name = "employee-scheduling.events.thread-count", defaultValue = "2") int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("The threadCount (" + threadCount + ") must be at least 1.");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threadCount, threadCount,
+                1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "schedule-events-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Every stream queues at most one delivery at a time, so the queue is bounded by the number of streams.
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executorService = threadPoolExecutor;
+    }
+
+    /**
+     * @param currentJob the current state of the job, sent right away. Read after subscribing,
+     * so a best solution published in between is not missed.
+     * @param finished whether the job is no longer solving, in which case the stream is closed after the schedule
+     */
+    public void subscribe(String jobId, SseEventSink sink, Sse sse, boolean changesOnly, Supplier<Job> currentJob,
+            BooleanSupplier finished) {
+        ScheduleEventSubscriber subscriber = new ScheduleEventSubscriber(jobId, sink, sse, changesOnly, executorService);
+        List<ScheduleEventSubscriber> subscribers =
+                jobIdToSubscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        subscribers.add(subscriber);
+        Job job = currentJob.get();
+        if (job != null && job.schedule() != null) {
+            subscriber.offer(job);
+        }
+        // Checked after registering, because a job that finishes in between would never close this stream.
+        if (finished.getAsBoolean()) {
+            subscribers.remove(subscriber);
+            jobIdToSubscribers.computeIfPresent(jobId, (id, list) -> list.isEmpty() ? null : list);
+            subscriber.finish(null);
+        }
+    }
+
+    public void publish(String jobId, Job job) {
+        List<ScheduleEventSubscriber> subscribers = jobIdToSubscribers.get(jobId);
+        if (subscribers != null) {
+            subscribers.removeIf(ScheduleEventSubscriber::isClosed);
+            subscribers.forEach(subscriber -> subscriber.offer(job));
+        }
+    }
+
+    /**
+     * Sends every client the latest schedule and a finished event, or a failed event if the error message is not
+     * null, and closes their streams.
+     */
+    public void finish(String jobId, String errorMessage) {
+        List<ScheduleEventSubscriber> subscribers = jobIdToSubscribers.remove(jobId);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.finish(errorMessage));
+        }
+    }
+
+    /**
+     * Sends every client a finished event, waiting briefly for the events to be built.
+     */
+    @PreDestroy
+    void close() {
+        jobIdToSubscribers.keySet().forEach(jobId -> finish(jobId, null));
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warn("Gave up waiting for the events of ({}) streams.", executorService.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
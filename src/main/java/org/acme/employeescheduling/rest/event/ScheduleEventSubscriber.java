@@ -0,0 +1,173 @@
+package org.acme.employeescheduling.rest.event;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.ScheduleChanges;
+import org.acme.employeescheduling.rest.job.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One client of a job's event stream.
+ * Only the latest undelivered job is kept, so a slow client skips intermediate best solutions
+ * instead of queueing them. Events are built on the executor, never on the solver's consumer thread,
+ * and no thread waits for them to be written.
+ */
+final class ScheduleEventSubscriber {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduleEventSubscriber.class);
+
+    static final String BEST_SOLUTION_EVENT = "bestSolution";
+    static final String CHANGES_EVENT = "changes";
+    static final String FINISHED_EVENT = "finished";
+    static final String FAILED_EVENT = "failed";
+
+    private final String jobId;
+    private final SseEventSink sink;
+    private final Sse sse;
+    private final boolean changesOnly;
+    private final Executor executor;
+
+    private Job pendingJob;
+    private long offeredVersion = -1L;
+    private String pendingErrorMessage;
+    private boolean finishPending = false;
+    private boolean delivering = false;
+    private boolean closed = false;
+
+    // Only accessed by the current delivery, which starts after the previous one has been written.
+    // The first changes event lists every shift.
+    private long sentVersion = -1L;
+
+    ScheduleEventSubscriber(String jobId, SseEventSink sink, Sse sse, boolean changesOnly, Executor executor) {
+        this.jobId = jobId;
+        this.sink = sink;
+        this.sse = sse;
+        this.changesOnly = changesOnly;
+        this.executor = executor;
+    }
+
+    /**
+     * Ignores a job older than one offered before, such as the current state read while a newer one was published.
+     */
+    synchronized void offer(Job job) {
+        if (finishPending || closed || job.schedule().getVersion() < offeredVersion) {
+            return;
+        }
+        offeredVersion = job.schedule().getVersion();
+        pendingJob = job;
+        scheduleDelivery();
+    }
+
+    /**
+     * Delivers the pending schedule, if any, then a finished (or failed, if the error message is not null) event,
+     * and closes the stream.
+     */
+    synchronized void finish(String errorMessage) {
+        if (finishPending || closed) {
+            return;
+        }
+        finishPending = true;
+        pendingErrorMessage = errorMessage;
+        scheduleDelivery();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void scheduleDelivery() {
+        if (!delivering) {
+            delivering = true;
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                // The application is shutting down, which closes the stream.
+                closed = true;
+                delivering = false;
+                pendingJob = null;
+            }
+        }
+    }
+
+    /**
+     * Sends the next event without waiting for it to be written,
+     * and only sends the one after, on the executor, once it has been.
+     */
+    private void deliver() {
+        Job job;
+        boolean finish;
+        String errorMessage;
+        synchronized (this) {
+            job = pendingJob;
+            pendingJob = null;
+            finish = job == null && finishPending;
+            errorMessage = pendingErrorMessage;
+            if (job == null && !finish) {
+                delivering = false;
+                return;
+            }
+        }
+        CompletionStage<?> sent;
+        try {
+            sent = sink.send(job != null
+                    ? buildScheduleEvent(job)
+                    : errorMessage == null
+                            ? sse.newEvent(FINISHED_EVENT, jobId)
+                            : sse.newEvent(FAILED_EVENT, errorMessage));
+        } catch (RuntimeException e) {
+            closeAfterFailure(e);
+            return;
+        }
+        sent.whenComplete((result, exception) -> {
+            if (exception != null) {
+                closeAfterFailure(exception);
+            } else if (finish) {
+                close();
+            } else {
+                try {
+                    executor.execute(this::deliver);
+                } catch (RejectedExecutionException e) {
+                    // The application is shutting down.
+                    close();
+                }
+            }
+        });
+    }
+
+    private void closeAfterFailure(Throwable exception) {
+        // Usually the client went away.
+        LOGGER.debug("Failed sending an event for jobId ({}), closing the stream.", jobId, exception);
+        close();
+    }
+
+    private OutboundSseEvent buildScheduleEvent(Job job) {
+        EmployeeSchedule schedule = job.schedule();
+        OutboundSseEvent.Builder builder = sse.newEventBuilder().mediaType(MediaType.APPLICATION_JSON_TYPE);
+        if (!changesOnly) {
+            return builder.name(BEST_SOLUTION_EVENT).data(EmployeeSchedule.class, schedule).build();
+        }
+        ScheduleChanges changes = new ScheduleChanges(schedule.getVersion(), schedule.getScore(),
+                schedule.getSolverStatus(), job.getShiftsChangedSince(sentVersion),
+                job.isShiftSetChangedSince(sentVersion));
+        sentVersion = schedule.getVersion();
+        return builder.name(CHANGES_EVENT).data(ScheduleChanges.class, changes).build();
+    }
+
+    private void close() {
+        synchronized (this) {
+            closed = true;
+            delivering = false;
+            pendingJob = null;
+        }
+        sink.close();
+    }
+}
@@ -0,0 +1,370 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.EmployeeScheduleJsonIO;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+
+/**
+ * Writes schedules to {@code <directory>/<jobId>.json}, the version in which each shift last changed
+ * and in which shifts were last added or removed to {@code <jobId>.versions}, and the class name and message
+ * of failures to {@code <jobId>.error}.
+ * Only running jobs keep their latest schedule on the heap; it is written to disk at most once per
+ * {@code flushInterval} while solving and once more when the job finishes.
+ * All writes happen on one background thread, so the solver never waits for the disk,
+ * and a failed write is logged instead of thrown.
+ * Finished jobs are read back from disk on every {@link #get(String)}.
+ * Their files are deleted once there are more than {@code maxFinishedJobs} of them (oldest first)
+ * or once they have been finished for longer than {@code finishedJobTimeToLive}, lazily on every store access.
+ * On startup, every job found in the directory is indexed as finished at the time its file was last written.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "employee-scheduling.job-store.type", stringValue = "disk")
+public class DiskJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskJobStore.class);
+
+    private static final String SCHEDULE_FILE_SUFFIX = ".json";
+    private static final String SHIFT_CHANGE_VERSIONS_FILE_SUFFIX = ".versions";
+    private static final String ERROR_FILE_SUFFIX = ".error";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long flushIntervalNanos;
+    private final int maxFinishedJobs;
+    private final long finishedJobTimeToLiveMillis;
+    private final EmployeeScheduleJsonIO jsonIO = new EmployeeScheduleJsonIO();
+    private final ExecutorService writerExecutorService = Executors.newSingleThreadExecutor();
+
+    private final ConcurrentMap<String, RunningJob> jobIdToRunningJob = new ConcurrentHashMap<>();
+    // Finish time per job, in finish order, so the eldest entry is always the first candidate for eviction.
+    private final Map<String, Long> finishedJobIdToFinishMillis = new LinkedHashMap<>();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Inject
+    public DiskJobStore(
+            @ConfigProperty(name = "employee-scheduling.job-store.directory", defaultValue = "jobs") String directory,
+            @ConfigProperty(name = "employee-scheduling.job-store.flush-interval", defaultValue = "10s") Duration flushInterval,
+            @ConfigProperty(name = "employee-scheduling.job-store.max-finished-jobs", defaultValue = "1000") int maxFinishedJobs,
+            @ConfigProperty(name = "employee-scheduling.job-store.finished-job-time-to-live", defaultValue = "1h") Duration finishedJobTimeToLive) {
+        this.directory = Path.of(directory);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxFinishedJobs = maxFinishedJobs;
+        this.finishedJobTimeToLiveMillis = finishedJobTimeToLive.toMillis();
+        Map<String, Long> jobIdToLastModifiedMillis = new HashMap<>();
+        try {
+            Files.createDirectories(this.directory);
+            try (Stream<Path> files = Files.list(this.directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String fileName = file.getFileName().toString();
+                    if (fileName.endsWith(TEMP_FILE_SUFFIX)) {
+                        // Left behind by a crash mid-write.
+                        Files.deleteIfExists(file);
+                        continue;
+                    }
+                    String jobId = toJobId(fileName);
+                    if (jobId != null) {
+                        jobIdToLastModifiedMillis.merge(jobId, Files.getLastModifiedTime(file).toMillis(), Math::max);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed initializing job store directory (" + directory + ").", e);
+        }
+        jobIdToLastModifiedMillis.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .forEach(entry -> finishedJobIdToFinishMillis.put(entry.getKey(), entry.getValue()));
+        LOGGER.info("Indexed {} jobs in directory ({}).", finishedJobIdToFinishMillis.size(),
+                this.directory.toAbsolutePath());
+        evict();
+    }
+
+    private static String toJobId(String fileName) {
+        if (fileName.endsWith(SCHEDULE_FILE_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - SCHEDULE_FILE_SUFFIX.length());
+        }
+        if (fileName.endsWith(SHIFT_CHANGE_VERSIONS_FILE_SUFFIX)) {
+            // Also indexed without a schedule file, so it's deleted with its job.
+            return fileName.substring(0, fileName.length() - SHIFT_CHANGE_VERSIONS_FILE_SUFFIX.length());
+        }
+        if (fileName.endsWith(ERROR_FILE_SUFFIX)) {
+            return fileName.substring(0, fileName.length() - ERROR_FILE_SUFFIX.length());
+        }
+        return null;
+    }
+
+    @Override
+    public void put(String jobId, Job job) {
+        RunningJob runningJob = jobIdToRunningJob.computeIfAbsent(jobId,
+                id -> new RunningJob(System.nanoTime() - flushIntervalNanos));
+        boolean flush;
+        synchronized (runningJob) {
+            runningJob.job = job;
+            long now = System.nanoTime();
+            // At most one write per job is queued; it writes the job's latest state when it runs.
+            flush = job.schedule() != null && !runningJob.flushQueued
+                    && now - runningJob.lastFlushNanos >= flushIntervalNanos;
+            if (flush) {
+                runningJob.flushQueued = true;
+                runningJob.lastFlushNanos = now;
+            }
+        }
+        if (flush) {
+            writeLater(jobId, () -> {
+                Job latestJob;
+                synchronized (runningJob) {
+                    latestJob = runningJob.job;
+                    runningJob.flushQueued = false;
+                }
+                write(jobId, latestJob);
+            });
+        }
+        evict();
+    }
+
+    @Override
+    public Job get(String jobId) {
+        RunningJob runningJob = jobIdToRunningJob.get(jobId);
+        if (runningJob != null) {
+            synchronized (runningJob) {
+                return runningJob.job;
+            }
+        }
+        evict();
+        synchronized (finishedJobIdToFinishMillis) {
+            if (!finishedJobIdToFinishMillis.containsKey(jobId)) {
+                return null;
+            }
+        }
+        return read(jobId);
+    }
+
+    /**
+     * The job stays on the heap until its final state is written, so {@link #get(String)} never misses it.
+     */
+    @Override
+    public void markFinished(String jobId) {
+        RunningJob runningJob = jobIdToRunningJob.get(jobId);
+        if (runningJob == null) {
+            return;
+        }
+        writeLater(jobId, () -> {
+            Job job;
+            synchronized (runningJob) {
+                job = runningJob.job;
+            }
+            write(jobId, job);
+            synchronized (finishedJobIdToFinishMillis) {
+                finishedJobIdToFinishMillis.put(jobId, System.currentTimeMillis());
+            }
+            jobIdToRunningJob.remove(jobId);
+            evict();
+        });
+    }
+
+    @Override
+    public JobStoreStatistics getStatistics() {
+        evict();
+        synchronized (finishedJobIdToFinishMillis) {
+            return new JobStoreStatistics(jobIdToRunningJob.size(), finishedJobIdToFinishMillis.size(),
+                    evictionCount.get());
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        List<String> evictedJobIds = new ArrayList<>();
+        synchronized (finishedJobIdToFinishMillis) {
+            Iterator<Map.Entry<String, Long>> iterator = finishedJobIdToFinishMillis.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                boolean overCapacity = finishedJobIdToFinishMillis.size() > maxFinishedJobs;
+                boolean expired = now - eldest.getValue() >= finishedJobTimeToLiveMillis;
+                if (!overCapacity && !expired) {
+                    break;
+                }
+                iterator.remove();
+                evictedJobIds.add(eldest.getKey());
+            }
+        }
+        for (String jobId : evictedJobIds) {
+            try {
+                Files.deleteIfExists(directory.resolve(jobId + SCHEDULE_FILE_SUFFIX));
+                Files.deleteIfExists(directory.resolve(jobId + SHIFT_CHANGE_VERSIONS_FILE_SUFFIX));
+                Files.deleteIfExists(directory.resolve(jobId + ERROR_FILE_SUFFIX));
+                evictionCount.incrementAndGet();
+                LOGGER.debug("Evicted finished jobId ({}).", jobId);
+            } catch (IOException e) {
+                LOGGER.warn("Failed deleting the files of jobId ({}) from directory ({}).", jobId, directory, e);
+            }
+        }
+    }
+
+    private void writeLater(String jobId, Runnable write) {
+        try {
+            writerExecutorService.execute(write);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Skipped writing jobId ({}), because the job store is closed.", jobId);
+        }
+    }
+
+    private void write(String jobId, Job job) {
+        try {
+            if (job.exception() != null) {
+                writeAtomically(jobId + ERROR_FILE_SUFFIX,
+                        file -> Files.writeString(file, formatFailure(job.exception()), StandardCharsets.UTF_8));
+            } else {
+                long[] shiftChangeVersions = job.shiftChangeVersions();
+                if (shiftChangeVersions != null) {
+                    writeAtomically(jobId + SHIFT_CHANGE_VERSIONS_FILE_SUFFIX, file -> {
+                        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+                            out.writeInt(shiftChangeVersions.length);
+                            for (long shiftChangeVersion : shiftChangeVersions) {
+                                out.writeLong(shiftChangeVersion);
+                            }
+                            out.writeLong(job.shiftSetChangeVersion());
+                        }
+                    });
+                }
+                writeAtomically(jobId + SCHEDULE_FILE_SUFFIX, file -> jsonIO.write(job.schedule(), file.toFile()));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed writing jobId ({}) to directory ({}).", jobId, directory, e);
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so a crash mid-write never leaves a corrupt file behind.
+     */
+    private void writeAtomically(String fileName, FileWriter fileWriter) throws IOException {
+        Path tempFile = Files.createTempFile(directory, fileName, TEMP_FILE_SUFFIX);
+        try {
+            fileWriter.write(tempFile);
+            Files.move(tempFile, directory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * The exception's class name on the first line, followed by its message, if any.
+     * Only text is kept, so reading a failure back never deserializes a class.
+     */
+    private static String formatFailure(Throwable exception) {
+        String className = exception.getClass().getName();
+        return exception.getMessage() == null ? className : className + "\n" + exception.getMessage();
+    }
+
+    private Job read(String jobId) {
+        try {
+            Path errorFile = directory.resolve(jobId + ERROR_FILE_SUFFIX);
+            if (Files.exists(errorFile)) {
+                return Job.ofException(readException(errorFile));
+            }
+            File scheduleFile = directory.resolve(jobId + SCHEDULE_FILE_SUFFIX).toFile();
+            if (!scheduleFile.exists()) {
+                return null;
+            }
+            EmployeeSchedule schedule = jsonIO.read(scheduleFile);
+            Job job = readShiftChangeVersions(jobId, schedule);
+            // Versions of another flush than the schedule's are of no use.
+            if (job == null || job.shiftChangeVersions().length != schedule.getShifts().size()) {
+                return Job.ofSchedule(schedule);
+            }
+            return job;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading jobId (" + jobId + ") from directory (" + directory + ").", e);
+        }
+    }
+
+    private static Throwable readException(Path errorFile) throws IOException {
+        String failure = Files.readString(errorFile, StandardCharsets.UTF_8);
+        int lineEnd = failure.indexOf('\n');
+        return lineEnd < 0 ? new JobFailure(failure, null)
+                : new JobFailure(failure.substring(0, lineEnd), failure.substring(lineEnd + 1));
+    }
+
+    /**
+     * @return null if the job has no versions file
+     */
+    private Job readShiftChangeVersions(String jobId, EmployeeSchedule schedule) throws IOException {
+        try (InputStream fileIn = Files.newInputStream(directory.resolve(jobId + SHIFT_CHANGE_VERSIONS_FILE_SUFFIX));
+                DataInputStream in = new DataInputStream(fileIn)) {
+            long[] shiftChangeVersions = new long[in.readInt()];
+            for (int i = 0; i < shiftChangeVersions.length; i++) {
+                shiftChangeVersions[i] = in.readLong();
+            }
+            long shiftSetChangeVersion = in.readLong();
+            return new Job(schedule, null, shiftChangeVersions, shiftSetChangeVersion);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the queued writes, so every finished job is on disk before shutdown.
+     */
+    @PreDestroy
+    void close() {
+        writerExecutorService.shutdown();
+        try {
+            if (!writerExecutorService.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Gave up waiting for the job store writes to directory ({}).", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileWriter {
+
+        void write(Path file) throws IOException;
+    }
+
+    private static final class RunningJob {
+
+        private Job job;
+        private long lastFlushNanos;
+        private boolean flushQueued = false;
+
+        private RunningJob(long lastFlushNanos) {
+            this.lastFlushNanos = lastFlushNanos;
+        }
+    }
+}
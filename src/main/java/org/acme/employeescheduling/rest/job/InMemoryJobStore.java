@@ -0,0 +1,102 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.arc.properties.UnlessBuildProperty;
+
+/**
+ * Keeps jobs on the heap. Finished jobs are evicted once there are more than {@code maxFinishedJobs} of them
+ * (oldest first) or once they have been finished for longer than {@code finishedJobTimeToLive}.
+ * Eviction happens when a job finishes, and on a {@link #put(String, Job)} once the eldest finished job has expired,
+ * so {@link #get(String)} never takes the eviction lock. An expired job may be returned until the next eviction.
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "employee-scheduling.job-store.type", stringValue = "disk", enableIfMissing = true)
+public class InMemoryJobStore implements JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobStore.class);
+
+    private final int maxFinishedJobs;
+    private final long finishedJobTimeToLiveNanos;
+
+    private final ConcurrentMap<String, Job> jobIdToJob = new ConcurrentHashMap<>();
+    // Finish time per job, in finish order, so the eldest entry is always the first candidate for eviction.
+    private final Map<String, Long> finishedJobIdToFinishNanos = new LinkedHashMap<>();
+    private final AtomicLong evictionCount = new AtomicLong();
+    // Finish time of the eldest finished job, null if there is none, so put() only locks when it has expired.
+    private volatile Long eldestFinishNanos = null;
+
+    @Inject
+    public InMemoryJobStore(
+            @ConfigProperty(name = "employee-scheduling.job-store.max-finished-jobs", defaultValue = "1000") int maxFinishedJobs,
+            @ConfigProperty(name = "employee-scheduling.job-store.finished-job-time-to-live", defaultValue = "1h") Duration finishedJobTimeToLive) {
+        this.maxFinishedJobs = maxFinishedJobs;
+        this.finishedJobTimeToLiveNanos = finishedJobTimeToLive.toNanos();
+    }
+
+    @Override
+    public void put(String jobId, Job job) {
+        jobIdToJob.put(jobId, job);
+        Long eldestFinishNanos = this.eldestFinishNanos;
+        if (eldestFinishNanos != null && System.nanoTime() - eldestFinishNanos >= finishedJobTimeToLiveNanos) {
+            evict();
+        }
+    }
+
+    @Override
+    public Job get(String jobId) {
+        return jobIdToJob.get(jobId);
+    }
+
+    @Override
+    public void markFinished(String jobId) {
+        synchronized (finishedJobIdToFinishNanos) {
+            if (jobIdToJob.containsKey(jobId)) {
+                finishedJobIdToFinishNanos.putIfAbsent(jobId, System.nanoTime());
+            }
+        }
+        evict();
+    }
+
+    @Override
+    public JobStoreStatistics getStatistics() {
+        evict();
+        synchronized (finishedJobIdToFinishNanos) {
+            return new JobStoreStatistics(jobIdToJob.size(), finishedJobIdToFinishNanos.size(), evictionCount.get());
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        synchronized (finishedJobIdToFinishNanos) {
+            Iterator<Map.Entry<String, Long>> iterator = finishedJobIdToFinishNanos.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                boolean overCapacity = finishedJobIdToFinishNanos.size() > maxFinishedJobs;
+                boolean expired = now - eldest.getValue() >= finishedJobTimeToLiveNanos;
+                if (!overCapacity && !expired) {
+                    break;
+                }
+                iterator.remove();
+                jobIdToJob.remove(eldest.getKey());
+                evictionCount.incrementAndGet();
+                LOGGER.debug("Evicted finished jobId ({}).", eldest.getKey());
+            }
+            eldestFinishNanos = finishedJobIdToFinishNanos.isEmpty() ? null
+                    : finishedJobIdToFinishNanos.values().iterator().next();
+        }
+    }
+}
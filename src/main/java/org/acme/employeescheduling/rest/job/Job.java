@@ -0,0 +1,105 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.domain.ShiftAssignment;
+
+/**
+ * @param shiftChangeVersions per shift, in the order of {@link EmployeeSchedule#getShifts()}, the schedule version
+ * in which its employee last changed, or null if unknown, in which case every shift counts as changed
+ * in the current version
+ * @param shiftSetChangeVersion the schedule version in which shifts were last added or removed
+ */
+public record Job(EmployeeSchedule schedule, Throwable exception, long[] shiftChangeVersions,
+        long shiftSetChangeVersion) {
+
+    public static Job ofSchedule(EmployeeSchedule schedule) {
+        return new Job(schedule, null, null, schedule.getVersion());
+    }
+
+    /**
+     * Gives the schedule the next version and records which shifts changed employee since the previous one.
+     */
+    public static Job ofNextSchedule(Job previousJob, EmployeeSchedule schedule) {
+        if (previousJob == null || previousJob.schedule() == null) {
+            return ofSchedule(schedule);
+        }
+        EmployeeSchedule previousSchedule = previousJob.schedule();
+        long version = previousSchedule.getVersion() + 1;
+        schedule.setVersion(version);
+
+        List<Shift> previousShifts = previousSchedule.getShifts();
+        List<Shift> shifts = schedule.getShifts();
+        Map<String, Integer> previousShiftIdToIndex = null;
+        long[] shiftChangeVersions = new long[shifts.size()];
+        int keptShiftCount = 0;
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            // Best solutions are clones, so the shifts are usually in the same order. Look them up otherwise.
+            int previousIndex;
+            if (i < previousShifts.size() && Objects.equals(previousShifts.get(i).getId(), shift.getId())) {
+                previousIndex = i;
+            } else {
+                if (previousShiftIdToIndex == null) {
+                    previousShiftIdToIndex = new HashMap<>(previousShifts.size() * 2);
+                    for (int j = 0; j < previousShifts.size(); j++) {
+                        previousShiftIdToIndex.put(previousShifts.get(j).getId(), j);
+                    }
+                }
+                previousIndex = previousShiftIdToIndex.getOrDefault(shift.getId(), -1);
+            }
+            if (previousIndex >= 0) {
+                keptShiftCount++;
+            }
+            shiftChangeVersions[i] = previousIndex >= 0
+                    && Objects.equals(getEmployeeName(previousShifts.get(previousIndex)), getEmployeeName(shift))
+                            ? previousJob.getShiftChangeVersion(previousIndex)
+                            : version;
+        }
+        boolean shiftSetChanged = keptShiftCount != shifts.size() || keptShiftCount != previousShifts.size();
+        return new Job(schedule, null, shiftChangeVersions,
+                shiftSetChanged ? version : previousJob.shiftSetChangeVersion());
+    }
+
+    public static Job ofException(Throwable error) {
+        return new Job(null, error, null, 0L);
+    }
+
+    private static String getEmployeeName(Shift shift) {
+        Employee employee = shift.getEmployee();
+        return employee == null ? null : employee.getName();
+    }
+
+    private long getShiftChangeVersion(int shiftIndex) {
+        return shiftChangeVersions == null ? schedule.getVersion() : shiftChangeVersions[shiftIndex];
+    }
+
+    /**
+     * @return the shifts whose employee changed after the given version
+     */
+    public List<ShiftAssignment> getShiftsChangedSince(long sinceVersion) {
+        List<Shift> shifts = schedule.getShifts();
+        List<ShiftAssignment> changedShifts = new ArrayList<>();
+        for (int i = 0; i < shifts.size(); i++) {
+            if (getShiftChangeVersion(i) > sinceVersion) {
+                changedShifts.add(ShiftAssignment.of(shifts.get(i)));
+            }
+        }
+        return changedShifts;
+    }
+
+    /**
+     * @return true if shifts were added or removed after the given version,
+     * so {@link #getShiftsChangedSince(long)} alone can't bring a client up to date
+     */
+    public boolean isShiftSetChangedSince(long sinceVersion) {
+        return sinceVersion >= 0L && shiftSetChangeVersion > sinceVersion;
+    }
+}
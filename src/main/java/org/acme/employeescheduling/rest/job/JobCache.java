@@ -0,0 +1,151 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps the {@link ProblemHash} of submitted problems to their job, so a resubmitted problem gets the job ID
+ * of the running or finished job instead of a new solve.
+ * Holds at most {@code maxEntries} hashes, least recently used first out.
+ * A job that failed or was evicted from the {@link JobStore} no longer counts: its problem is solved again.
+ * Neither does a job whose problem was changed or which was terminated early by a user, see {@link #evictJob(String)}.
+ */
+@ApplicationScoped
+public class JobCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobCache.class);
+
+    private final JobStore jobStore;
+    private final Map<String, String> hashToJobId;
+    private final Map<String, String> jobIdToHash = new HashMap<>();
+    // The hashes whose job is being started, outside the lock, by another submission.
+    private final Map<String, CompletableFuture<String>> hashToStartingJobId = new HashMap<>();
+    private long hitCount = 0L;
+    private long missCount = 0L;
+    private long evictionCount = 0L;
+
+    @Inject
+    public JobCache(JobStore jobStore,
+            @ConfigProperty(name = "employee-scheduling.job-cache.max-entries", defaultValue = "1000") int maxEntries) {
+        this.jobStore = jobStore;
+        this.hashToJobId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                evictionCount++;
+                jobIdToHash.remove(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Starts a job without holding the lock of this cache, so other problems are not held up by it.
+     * Concurrent submissions of the same problem wait for the first one to start its job, and then reuse it.
+     * Looks up the cached job in the {@link JobStore} without holding the lock either.
+     *
+     * @param jobStarter starts a job for the problem and returns its job ID
+     * @return the job ID of the cached job, or else of the started one
+     */
+    public String getOrStart(String problemHash, Supplier<String> jobStarter) {
+        while (true) {
+            String cachedJobId;
+            synchronized (this) {
+                cachedJobId = hashToJobId.get(problemHash);
+            }
+            boolean reusable = false;
+            if (cachedJobId != null) {
+                Job job = jobStore.get(cachedJobId);
+                reusable = job != null && job.exception() == null;
+            }
+            CompletableFuture<String> startingJobId;
+            CompletableFuture<String> claimedJobId = null;
+            synchronized (this) {
+                String jobId = hashToJobId.get(problemHash);
+                // Another submission may have started a job for the problem, or evicted the cached one, meanwhile.
+                if (jobId != null && (!jobId.equals(cachedJobId) || reusable)) {
+                    hitCount++;
+                    LOGGER.info("Reusing jobId ({}) for an identical problem.", jobId);
+                    return jobId;
+                }
+                startingJobId = hashToStartingJobId.get(problemHash);
+                if (startingJobId == null) {
+                    if (jobId != null) {
+                        remove(problemHash);
+                    }
+                    missCount++;
+                    claimedJobId = new CompletableFuture<>();
+                    hashToStartingJobId.put(problemHash, claimedJobId);
+                }
+            }
+            if (claimedJobId != null) {
+                return start(problemHash, jobStarter, claimedJobId);
+            }
+            try {
+                String jobId = startingJobId.join();
+                synchronized (this) {
+                    hitCount++;
+                }
+                LOGGER.info("Reusing jobId ({}) for an identical problem.", jobId);
+                return jobId;
+            } catch (CompletionException e) {
+                // The other submission failed to start its job, so look again, and start one if nobody else has.
+            }
+        }
+    }
+
+    private String start(String problemHash, Supplier<String> jobStarter, CompletableFuture<String> claimedJobId) {
+        String jobId;
+        try {
+            jobId = jobStarter.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                hashToStartingJobId.remove(problemHash);
+            }
+            claimedJobId.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            hashToStartingJobId.remove(problemHash);
+            hashToJobId.put(problemHash, jobId);
+            jobIdToHash.put(jobId, problemHash);
+        }
+        claimedJobId.complete(jobId);
+        return jobId;
+    }
+
+    /**
+     * Call when the job's problem was changed, or when it was terminated early by a user,
+     * so an identical problem is solved again instead of getting the job's schedule.
+     */
+    public synchronized void evictJob(String jobId) {
+        String problemHash = jobIdToHash.get(jobId);
+        if (problemHash != null) {
+            remove(problemHash);
+        }
+    }
+
+    private void remove(String problemHash) {
+        String jobId = hashToJobId.remove(problemHash);
+        if (jobId != null) {
+            jobIdToHash.remove(jobId);
+        }
+    }
+
+    public synchronized JobCacheStatistics getStatistics() {
+        return new JobCacheStatistics(hashToJobId.size(), hitCount, missCount, evictionCount);
+    }
+}
@@ -0,0 +1,4 @@
+package org.acme.employeescheduling.rest.job;
+
+public record JobCacheStatistics(int entries, long hits, long misses, long evictions) {
+}
@@ -0,0 +1,25 @@
+package org.acme.employeescheduling.rest.job;
+
+/**
+ * A failure read back from disk by {@link DiskJobStore}: the class name and message of the original exception,
+ * without its stack trace or causes.
+ */
+class JobFailure extends RuntimeException {
+
+    private final String failureClassName;
+
+    JobFailure(String failureClassName, String message) {
+        super(message, null, false, false);
+        this.failureClassName = failureClassName;
+    }
+
+    public String getFailureClassName() {
+        return failureClassName;
+    }
+
+    @Override
+    public String toString() {
+        String message = getMessage();
+        return message == null ? failureClassName : failureClassName + ": " + message;
+    }
+}
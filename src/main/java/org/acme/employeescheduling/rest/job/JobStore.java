@@ -0,0 +1,25 @@
+package org.acme.employeescheduling.rest.job;
+
+/**
+ * Keeps the latest state of every solver job by job ID.
+ * Running jobs are never evicted; finished jobs may be.
+ */
+public interface JobStore {
+
+    /**
+     * Adds the job or replaces its previous state.
+     */
+    void put(String jobId, Job job);
+
+    /**
+     * @return null if the job is unknown or has been evicted
+     */
+    Job get(String jobId);
+
+    /**
+     * Makes the job eligible for eviction. Call once the solver has stopped working on it.
+     */
+    void markFinished(String jobId);
+
+    JobStoreStatistics getStatistics();
+}
@@ -0,0 +1,4 @@
+package org.acme.employeescheduling.rest.job;
+
+public record JobStoreStatistics(int residentJobs, int finishedJobs, long evictions) {
+}
@@ -0,0 +1,90 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * A SHA-256 hash of everything that decides the solution of a job: the employees, the shifts with their initial
+ * assignment and pin, the freeze window and the solver settings.
+ * It is canonical: employees are hashed in name order, shifts in ID order and dates sorted,
+ * so the same problem hashes the same however its JSON was ordered.
+ * The score, version and solver status of the schedule are ignored.
+ */
+public final class ProblemHash {
+
+    private final MessageDigest digest;
+
+    private ProblemHash() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform supports SHA-256.", e);
+        }
+    }
+
+    /**
+     * @param settings the solver settings of the job, in a fixed order
+     * @return a hex string
+     */
+    public static String of(EmployeeSchedule schedule, Object... settings) {
+        ProblemHash hash = new ProblemHash();
+        for (Object setting : settings) {
+            hash.update(setting);
+        }
+        List<Employee> employees = new ArrayList<>(Objects.requireNonNullElse(schedule.getEmployees(), List.of()));
+        employees.sort(Comparator.comparing(Employee::getName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        hash.update(employees.size());
+        for (Employee employee : employees) {
+            hash.update(employee.getName());
+            hash.update(employee.getRole());
+            hash.update(employee.getMaxWorkingHoursPerWeek());
+            hash.updateSorted(employee.getUnavailableDates());
+            hash.updateSorted(employee.getPreferredHolidays());
+        }
+        List<Shift> shifts = new ArrayList<>(Objects.requireNonNullElse(schedule.getShifts(), List.of()));
+        shifts.sort(Comparator.comparing(Shift::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        hash.update(shifts.size());
+        for (Shift shift : shifts) {
+            hash.update(shift.getId());
+            hash.update(shift.getStart());
+            hash.update(shift.getEnd());
+            hash.update(shift.getRequiredRole());
+            hash.update(shift.isPinned());
+            hash.update(shift.getEmployee() == null ? null : shift.getEmployee().getName());
+        }
+        hash.update(schedule.getFreezeUntil());
+        return HexFormat.of().formatHex(hash.digest.digest());
+    }
+
+    private void updateSorted(Set<?> values) {
+        if (values == null) {
+            update(null);
+            return;
+        }
+        update(values.size());
+        values.stream().map(String::valueOf).sorted().forEach(this::update);
+    }
+
+    // Every value is length-prefixed, so no two different sequences of values hash the same bytes.
+    private void update(Object value) {
+        if (value == null) {
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+            return;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,103 @@
+package org.acme.employeescheduling.rest.job;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolutionUpdatePolicy;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Keeps the score analyses of the latest schedule version of the {@code maxJobs} most recently analyzed jobs,
+ * one per fetch policy, so repeated requests for an unchanged schedule do not analyze it again.
+ * Concurrent requests for the same analysis wait for one analysis instead of each running their own.
+ */
+@ApplicationScoped
+public class ScoreAnalysisCache {
+
+    private final SolutionManager<EmployeeSchedule, HardSoftLongScore> solutionManager;
+    private final Map<String, VersionAnalyses> jobIdToAnalyses;
+
+    @Inject
+    public ScoreAnalysisCache(SolutionManager<EmployeeSchedule, HardSoftLongScore> solutionManager,
+            @ConfigProperty(name = "employee-scheduling.analysis-cache.max-jobs", defaultValue = "100") int maxJobs) {
+        this.solutionManager = solutionManager;
+        this.jobIdToAnalyses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VersionAnalyses> eldest) {
+                return size() > maxJobs;
+            }
+        };
+    }
+
+    /**
+     * @param schedule the latest schedule of the job, which is not changed
+     */
+    public ScoreAnalysis<HardSoftLongScore> analyze(String jobId, EmployeeSchedule schedule,
+            ScoreAnalysisFetchPolicy fetchPolicy) {
+        CompletableFuture<ScoreAnalysis<HardSoftLongScore>> analysisFuture;
+        boolean owner = false;
+        synchronized (jobIdToAnalyses) {
+            VersionAnalyses analyses = jobIdToAnalyses.get(jobId);
+            if (analyses == null || analyses.version != schedule.getVersion()) {
+                analyses = new VersionAnalyses(schedule.getVersion());
+                jobIdToAnalyses.put(jobId, analyses);
+            }
+            analysisFuture = analyses.fetchPolicyToAnalysis.get(fetchPolicy);
+            if (analysisFuture == null) {
+                analysisFuture = new CompletableFuture<>();
+                analyses.fetchPolicyToAnalysis.put(fetchPolicy, analysisFuture);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                // Other requests may read the stored schedule meanwhile, so the analysis scores a copy:
+                // a best solution already has that score, but a submitted problem may have none or a stale one.
+                analysisFuture.complete(solutionManager.analyze(schedule.copyProblem(), fetchPolicy,
+                        SolutionUpdatePolicy.UPDATE_SCORE_ONLY));
+            } catch (RuntimeException e) {
+                analysisFuture.completeExceptionally(e);
+                remove(jobId, schedule.getVersion(), fetchPolicy, analysisFuture);
+                throw e;
+            }
+        }
+        try {
+            return analysisFuture.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    private void remove(String jobId, long version, ScoreAnalysisFetchPolicy fetchPolicy,
+            CompletableFuture<ScoreAnalysis<HardSoftLongScore>> analysisFuture) {
+        synchronized (jobIdToAnalyses) {
+            VersionAnalyses analyses = jobIdToAnalyses.get(jobId);
+            if (analyses != null && analyses.version == version) {
+                analyses.fetchPolicyToAnalysis.remove(fetchPolicy, analysisFuture);
+            }
+        }
+    }
+
+    private static final class VersionAnalyses {
+
+        private final long version;
+        private final Map<ScoreAnalysisFetchPolicy, CompletableFuture<ScoreAnalysis<HardSoftLongScore>>> fetchPolicyToAnalysis =
+                new EnumMap<>(ScoreAnalysisFetchPolicy.class);
+
+        private VersionAnalyses(long version) {
+            this.version = version;
+        }
+    }
+}
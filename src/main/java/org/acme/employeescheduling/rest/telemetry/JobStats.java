@@ -0,0 +1,24 @@
+package org.acme.employeescheduling.rest.telemetry;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+/**
+ * The counts and speeds are those of the job's own solver, so they leave out the partitions of a partitioned job
+ * and the race of a portfolio job.
+ *
+ * @param queuedMillis until the solver started on the job, or since the job was submitted if it has not yet
+ * @param solvingMillis 0 until the solver started on the job
+ * @param timeToFeasibleMillis null until a feasible best solution, counted from submission like the timeline
+ * @param bestScoreTimeline every best solution, oldest first; thinned to every other point when it gets long
+ * @param failedProblemChangeCount problem changes that were accepted but never applied,
+ * because the job stopped solving first
+ * @param lastProblemChangeFailure null unless a problem change failed
+ */
+public record JobStats(String jobId, String algorithm, SolverStatus solverStatus, long queuedMillis,
+        long solvingMillis, long scoreCalculationCount, long scoreCalculationSpeed, long moveEvaluationCount,
+        long moveEvaluationSpeed, int improvementCount, Long timeToFeasibleMillis, HardSoftLongScore bestScore,
+        List<ScorePoint> bestScoreTimeline, int failedProblemChangeCount, String lastProblemChangeFailure) {
+}
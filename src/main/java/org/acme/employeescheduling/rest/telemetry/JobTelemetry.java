@@ -0,0 +1,281 @@
+package org.acme.employeescheduling.rest.telemetry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Follows every job from submission to finish, for {@code GET /schedules/{jobId}/stats}
+ * and for the {@code employee.scheduling.*} metrics, which are aggregated per algorithm.
+ * The solver's own per-job metrics are the {@code timefold.solver.*} ones, tagged with the job ID as {@code problem.id}.
+ * The solver removes those when the job ends, so they only exist for the jobs being solved.
+ * None of the metrics here is tagged per job, to keep the number of time series bounded.
+ * <p>
+ * The stats of the last {@code maxFinishedJobs} finished jobs are kept.
+ */
+@ApplicationScoped
+public class JobTelemetry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobTelemetry.class);
+
+    private static final String ALGORITHM_TAG = "algorithm";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxScorePoints;
+    private final int maxFinishedJobs;
+
+    private final AtomicInteger queuedJobCount = new AtomicInteger();
+    private final AtomicInteger activeJobCount = new AtomicInteger();
+    private final ConcurrentMap<String, JobRecord> jobIdToRecord = new ConcurrentHashMap<>();
+    // In finish order, so the eldest is evicted first.
+    private final Set<String> finishedJobIds = new LinkedHashSet<>();
+
+    @Inject
+    public JobTelemetry(MeterRegistry meterRegistry,
+            @ConfigProperty(name = "employee-scheduling.telemetry.max-score-points", defaultValue = "1000") int maxScorePoints,
+            @ConfigProperty(name = "employee-scheduling.telemetry.max-finished-jobs", defaultValue = "1000") int maxFinishedJobs) {
+        if (maxScorePoints < 2) {
+            throw new IllegalArgumentException("The maxScorePoints (" + maxScorePoints + ") must be at least 2.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxScorePoints = maxScorePoints;
+        this.maxFinishedJobs = maxFinishedJobs;
+        Gauge.builder("employee.scheduling.jobs.queued", queuedJobCount, AtomicInteger::get)
+                .description("Jobs submitted that the solver has not started on yet")
+                .register(meterRegistry);
+        Gauge.builder("employee.scheduling.jobs.active", activeJobCount, AtomicInteger::get)
+                .description("Jobs the solver is working on")
+                .register(meterRegistry);
+        Gauge.builder("employee.scheduling.score.calculation.speed", this, JobTelemetry::getActiveScoreCalculationSpeed)
+                .description("Score calculations per second, summed over the active jobs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param algorithm the algorithm tag of the job's metrics, one of a few values
+     * @param submitNanos {@link System#nanoTime()} when the job was submitted
+     */
+    public void onSubmitted(String jobId, String algorithm, long submitNanos) {
+        jobIdToRecord.put(jobId, new JobRecord(jobId, algorithm, submitNanos));
+        queuedJobCount.incrementAndGet();
+    }
+
+    public void setSolverJob(String jobId, SolverJob<EmployeeSchedule, String> solverJob) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        if (record != null) {
+            record.setSolverJob(solverJob);
+        }
+    }
+
+    /**
+     * Call on the solver thread, once it starts on the job.
+     */
+    public void onStarted(String jobId) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        if (record != null && record.start()) {
+            queuedJobCount.decrementAndGet();
+            activeJobCount.incrementAndGet();
+        }
+    }
+
+    public void onBestSolution(String jobId, HardSoftLongScore score, long elapsedMillis) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        if (record == null) {
+            return;
+        }
+        meterRegistry.counter("employee.scheduling.best.solutions", ALGORITHM_TAG, record.algorithm).increment();
+        if (record.addBestScore(score, elapsedMillis, maxScorePoints)) {
+            Timer.builder("employee.scheduling.time.to.feasible")
+                    .description("From submission to the first feasible best solution")
+                    .tag(ALGORITHM_TAG, record.algorithm)
+                    .register(meterRegistry)
+                    .record(elapsedMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Call when a problem change that was accepted for the job can't be applied.
+     */
+    public void onProblemChangeFailed(String jobId, Throwable exception) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        if (record == null) {
+            return;
+        }
+        meterRegistry.counter("employee.scheduling.problem.changes.failed", ALGORITHM_TAG, record.algorithm)
+                .increment();
+        record.addProblemChangeFailure(exception);
+    }
+
+    public void onFinished(String jobId, Throwable exception) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        if (record == null || !record.finish()) {
+            return;
+        }
+        (record.startNanos == 0L ? queuedJobCount : activeJobCount).decrementAndGet();
+        JobStats stats = record.toStats();
+        Timer.builder("employee.scheduling.solve.duration")
+                .description("From the start of solving to the final best solution")
+                .tags(ALGORITHM_TAG, record.algorithm, "outcome", exception == null ? "completed" : "failed")
+                .register(meterRegistry)
+                .record(stats.solvingMillis(), TimeUnit.MILLISECONDS);
+        DistributionSummary.builder("employee.scheduling.job.score.calculation.speed")
+                .description("Average score calculations per second of each finished job")
+                .baseUnit("calculations/s")
+                .tag(ALGORITHM_TAG, record.algorithm)
+                .register(meterRegistry)
+                .record(stats.scoreCalculationSpeed());
+        if (exception == null) {
+            LOGGER.info("Finished jobId ({}) with best score ({}) after {} ms queued and {} ms solving,"
+                    + " at {} score calculations per second.", jobId, stats.bestScore(), stats.queuedMillis(),
+                    stats.solvingMillis(), stats.scoreCalculationSpeed());
+        }
+        synchronized (finishedJobIds) {
+            finishedJobIds.add(jobId);
+            Iterator<String> iterator = finishedJobIds.iterator();
+            while (finishedJobIds.size() > maxFinishedJobs) {
+                jobIdToRecord.remove(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return null if the job is unknown or its stats were evicted
+     */
+    public JobStats getStats(String jobId) {
+        JobRecord record = jobIdToRecord.get(jobId);
+        return record == null ? null : record.toStats();
+    }
+
+    private double getActiveScoreCalculationSpeed() {
+        long speed = 0L;
+        for (JobRecord record : jobIdToRecord.values()) {
+            speed += record.getActiveScoreCalculationSpeed();
+        }
+        return speed;
+    }
+
+    private static final class JobRecord {
+
+        private final String jobId;
+        private final String algorithm;
+        private final long submitNanos;
+        private volatile SolverJob<EmployeeSchedule, String> solverJob;
+        private volatile long startNanos = 0L;
+        private long finishNanos = 0L;
+        private int improvementCount = 0;
+        private Long timeToFeasibleMillis;
+        private HardSoftLongScore bestScore;
+        private final List<ScorePoint> bestScoreTimeline = new ArrayList<>();
+        private int failedProblemChangeCount = 0;
+        private String lastProblemChangeFailure;
+
+        private JobRecord(String jobId, String algorithm, long submitNanos) {
+            this.jobId = jobId;
+            this.algorithm = algorithm;
+            this.submitNanos = submitNanos;
+        }
+
+        private void setSolverJob(SolverJob<EmployeeSchedule, String> solverJob) {
+            this.solverJob = solverJob;
+        }
+
+        /**
+         * @return false if the job already started
+         */
+        private synchronized boolean start() {
+            if (startNanos != 0L) {
+                return false;
+            }
+            startNanos = System.nanoTime();
+            return true;
+        }
+
+        /**
+         * @return true if this is the first feasible best score
+         */
+        private synchronized boolean addBestScore(HardSoftLongScore score, long elapsedMillis, int maxScorePoints) {
+            improvementCount++;
+            bestScore = score;
+            if (bestScoreTimeline.size() >= maxScorePoints) {
+                // Keeps the shape of the whole timeline at a bounded size, at an amortized constant cost per point.
+                List<ScorePoint> everyOtherPoint = new ArrayList<>(maxScorePoints);
+                for (int i = 0; i < bestScoreTimeline.size(); i += 2) {
+                    everyOtherPoint.add(bestScoreTimeline.get(i));
+                }
+                bestScoreTimeline.clear();
+                bestScoreTimeline.addAll(everyOtherPoint);
+            }
+            bestScoreTimeline.add(new ScorePoint(elapsedMillis, score));
+            if (timeToFeasibleMillis == null && score.isFeasible()) {
+                timeToFeasibleMillis = elapsedMillis;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void addProblemChangeFailure(Throwable exception) {
+            failedProblemChangeCount++;
+            lastProblemChangeFailure = exception.getMessage() == null ? exception.toString() : exception.getMessage();
+        }
+
+        /**
+         * @return false if the job already finished
+         */
+        private synchronized boolean finish() {
+            if (finishNanos != 0L) {
+                return false;
+            }
+            finishNanos = System.nanoTime();
+            return true;
+        }
+
+        private long getActiveScoreCalculationSpeed() {
+            SolverJob<EmployeeSchedule, String> currentSolverJob = solverJob;
+            return currentSolverJob != null && currentSolverJob.getSolverStatus() == SolverStatus.SOLVING_ACTIVE
+                    ? currentSolverJob.getScoreCalculationSpeed()
+                    : 0L;
+        }
+
+        private synchronized JobStats toStats() {
+            long now = finishNanos != 0L ? finishNanos : System.nanoTime();
+            long queuedNanos = (startNanos != 0L ? startNanos : now) - submitNanos;
+            long solvingNanos = startNanos != 0L ? now - startNanos : 0L;
+            SolverJob<EmployeeSchedule, String> currentSolverJob = solverJob;
+            SolverStatus solverStatus = finishNanos != 0L || currentSolverJob == null
+                    ? SolverStatus.NOT_SOLVING
+                    : currentSolverJob.getSolverStatus();
+            return new JobStats(jobId, algorithm, solverStatus, TimeUnit.NANOSECONDS.toMillis(queuedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(solvingNanos),
+                    currentSolverJob == null ? 0L : currentSolverJob.getScoreCalculationCount(),
+                    currentSolverJob == null ? 0L : currentSolverJob.getScoreCalculationSpeed(),
+                    currentSolverJob == null ? 0L : currentSolverJob.getMoveEvaluationCount(),
+                    currentSolverJob == null ? 0L : currentSolverJob.getMoveEvaluationSpeed(),
+                    improvementCount, timeToFeasibleMillis, bestScore, List.copyOf(bestScoreTimeline),
+                    failedProblemChangeCount, lastProblemChangeFailure);
+        }
+    }
+}
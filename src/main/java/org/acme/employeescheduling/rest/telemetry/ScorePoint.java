@@ -0,0 +1,9 @@
+package org.acme.employeescheduling.rest.telemetry;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+/**
+ * @param elapsedMillis since the job was submitted
+ */
+public record ScorePoint(long elapsedMillis, HardSoftLongScore score) {
+}
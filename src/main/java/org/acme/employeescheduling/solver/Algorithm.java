@@ -0,0 +1,50 @@
+package org.acme.employeescheduling.solver;
+
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchType;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+
+public enum Algorithm {
+    TABU_SEARCH,
+    LATE_ACCEPTANCE,
+    SIMULATED_ANNEALING,
+    GREAT_DELUGE,
+    HILL_CLIMBING;
+
+    /**
+     * Unknown or missing values fall back to {@link #HILL_CLIMBING}, like the original switch did.
+     */
+    public static Algorithm parse(String algorithm) {
+        if (algorithm != null) {
+            for (Algorithm value : values()) {
+                if (value.name().equals(algorithm)) {
+                    return value;
+                }
+            }
+        }
+        return HILL_CLIMBING;
+    }
+
+    public LocalSearchPhaseConfig buildLocalSearchPhaseConfig() {
+        LocalSearchPhaseConfig localSearchPhaseConfig = new LocalSearchPhaseConfig();
+        switch (this) {
+            case TABU_SEARCH:
+                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.TABU_SEARCH);
+                break;
+            case LATE_ACCEPTANCE:
+                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.LATE_ACCEPTANCE);
+                break;
+            case SIMULATED_ANNEALING:
+                LocalSearchAcceptorConfig config = new LocalSearchAcceptorConfig();
+                config.setSimulatedAnnealingStartingTemperature("2hard/100soft");
+                localSearchPhaseConfig.setAcceptorConfig(config);
+                break;
+            case GREAT_DELUGE:
+                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.GREAT_DELUGE);
+                break;
+            default:
+                localSearchPhaseConfig.setLocalSearchType(LocalSearchType.HILL_CLIMBING);
+        }
+        return localSearchPhaseConfig;
+    }
+}
@@ -0,0 +1,13 @@
+package org.acme.employeescheduling.solver;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+/**
+ * @param nanosPerMove the average time of one incremental score calculation with only this constraint
+ * @param share of the summed nanosPerMove of all constraints, between 0 and 1
+ * @param matchCount the constraint matches in the profiled schedule
+ * @param score the constraint's score in the profiled schedule
+ */
+public record ConstraintCost(String constraintName, double nanosPerMove, double share, int matchCount,
+        HardSoftLongScore score) {
+}
@@ -0,0 +1,12 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.List;
+
+/**
+ * @param allConstraintsNanosPerMove the average time of one incremental score calculation with every constraint,
+ * usually less than the sum of the constraints, because they share nodes
+ * @param constraintCosts most expensive first
+ */
+public record ConstraintProfile(int moveCount, double allConstraintsNanosPerMove,
+        List<ConstraintCost> constraintCosts) {
+}
@@ -0,0 +1,202 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.constraint.ConstraintMatchPolicy;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures what every constraint costs in incremental score calculation, the way local search does them,
+ * like {@code ScoreCalculationBenchmark} but on any schedule and without JMH.
+ * Every constraint is run alone, through the same random change moves on a copy of the same schedule,
+ * once to warm up and once timed. Each time includes the fixed cost of a score calculation,
+ * so the differences between constraints matter more than their sum.
+ * Uses the internal score director API, because the public API only calculates scores from scratch.
+ * <p>
+ * The REST endpoints profile on the thread of this class, one schedule at a time,
+ * so concurrent profiles neither hold request threads nor skew each other's times.
+ */
+@ApplicationScoped
+public class ConstraintProfiler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConstraintProfiler.class);
+
+    private final SolverConfig baseSolverConfig;
+    private final int defaultMoveCount;
+    private final int maxMoveCount;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final ConcurrentMap<String, DefaultSolverFactory<EmployeeSchedule>> constraintNameToSolverFactory =
+            new ConcurrentHashMap<>();
+
+    @Inject
+    public ConstraintProfiler(SolverConfig baseSolverConfig,
+            @ConfigProperty(name = "employee-scheduling.constraint-profile.move-count", defaultValue = "10000") int defaultMoveCount,
+            @ConfigProperty(name = "employee-scheduling.constraint-profile.max-move-count", defaultValue = "100000") int maxMoveCount) {
+        this.baseSolverConfig = baseSolverConfig;
+        this.defaultMoveCount = defaultMoveCount;
+        this.maxMoveCount = maxMoveCount;
+    }
+
+    public ConstraintProfile profile(EmployeeSchedule schedule) {
+        return profile(schedule, defaultMoveCount);
+    }
+
+    /**
+     * Unassigned shifts get a random available employee first, so every constraint has matches to work on.
+     * The given schedule is not changed.
+     *
+     * @throws IllegalArgumentException if the schedule has no employees or no shifts,
+     * or the moveCount is not between 1 and the maximum move count
+     */
+    public ConstraintProfile profile(EmployeeSchedule schedule, int moveCount) {
+        validate(schedule, moveCount);
+        Random random = new Random(0);
+        EmployeeSchedule initialized = schedule.copyProblem();
+        for (Shift shift : initialized.getShifts()) {
+            if (shift.getEmployee() == null) {
+                shift.setEmployee(pickRandom(shift.getAvailableEmployees(), random));
+            }
+        }
+        List<Integer> movableShiftIndexes = new ArrayList<>();
+        for (int i = 0; i < initialized.getShifts().size(); i++) {
+            if (!initialized.getShifts().get(i).isPinned()) {
+                movableShiftIndexes.add(i);
+            }
+        }
+        int[] moveShiftIndexes = new int[movableShiftIndexes.isEmpty() ? 0 : moveCount];
+        int[] moveEmployeeSeeds = new int[moveShiftIndexes.length];
+        for (int i = 0; i < moveShiftIndexes.length; i++) {
+            moveShiftIndexes[i] = pickRandom(movableShiftIndexes, random);
+            moveEmployeeSeeds[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+
+        SolutionManager<EmployeeSchedule, HardSoftLongScore> solutionManager =
+                SolutionManager.create(getSolverFactory(SingleConstraintProvider.ALL_CONSTRAINTS));
+        ScoreAnalysis<HardSoftLongScore> analysis =
+                solutionManager.analyze(initialized, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT);
+        double allConstraintsNanosPerMove = measureNanosPerMove(SingleConstraintProvider.ALL_CONSTRAINTS,
+                initialized, moveShiftIndexes, moveEmployeeSeeds);
+        List<ConstraintAnalysis<HardSoftLongScore>> constraintAnalyses = List.copyOf(analysis.constraintMap().values());
+        double[] nanosPerMove = new double[constraintAnalyses.size()];
+        double nanosPerMoveSum = 0.0;
+        for (int i = 0; i < constraintAnalyses.size(); i++) {
+            nanosPerMove[i] = measureNanosPerMove(constraintAnalyses.get(i).constraintName(),
+                    initialized, moveShiftIndexes, moveEmployeeSeeds);
+            nanosPerMoveSum += nanosPerMove[i];
+        }
+        List<ConstraintCost> constraintCosts = new ArrayList<>(constraintAnalyses.size());
+        for (int i = 0; i < constraintAnalyses.size(); i++) {
+            ConstraintAnalysis<HardSoftLongScore> constraintAnalysis = constraintAnalyses.get(i);
+            constraintCosts.add(new ConstraintCost(constraintAnalysis.constraintName(), nanosPerMove[i],
+                    nanosPerMoveSum == 0.0 ? 0.0 : nanosPerMove[i] / nanosPerMoveSum,
+                    constraintAnalysis.matchCount(), constraintAnalysis.score()));
+        }
+        constraintCosts.sort(Comparator.comparingDouble(ConstraintCost::nanosPerMove).reversed());
+        LOGGER.info("Profiled {} constraints over {} moves, the most expensive is ({}).",
+                constraintCosts.size(), moveShiftIndexes.length, constraintCosts.get(0).constraintName());
+        return new ConstraintProfile(moveShiftIndexes.length, allConstraintsNanosPerMove, constraintCosts);
+    }
+
+    /**
+     * Like {@link #profile(EmployeeSchedule, int)}, on the thread of this profiler.
+     *
+     * @param moveCount null for the configured move count
+     * @throws IllegalArgumentException right away, for the same reasons as {@link #profile(EmployeeSchedule, int)}
+     */
+    public CompletableFuture<ConstraintProfile> profileAsync(EmployeeSchedule schedule, Integer moveCount) {
+        int resolvedMoveCount = moveCount == null ? defaultMoveCount : moveCount;
+        validate(schedule, resolvedMoveCount);
+        return CompletableFuture.supplyAsync(() -> profile(schedule, resolvedMoveCount), executorService);
+    }
+
+    private void validate(EmployeeSchedule schedule, int moveCount) {
+        if (schedule.getEmployees() == null || schedule.getEmployees().isEmpty()
+                || schedule.getShifts() == null || schedule.getShifts().isEmpty()) {
+            throw new IllegalArgumentException("The schedule needs employees and shifts to profile its constraints.");
+        }
+        if (moveCount < 1 || moveCount > maxMoveCount) {
+            throw new IllegalArgumentException("The moveCount (" + moveCount + ") must be between 1 and "
+                    + maxMoveCount + ".");
+        }
+    }
+
+    /**
+     * @return 0 if there are no moves
+     */
+    private double measureNanosPerMove(String constraintName, EmployeeSchedule initialized,
+            int[] moveShiftIndexes, int[] moveEmployeeSeeds) {
+        EmployeeSchedule schedule = initialized.copyProblem();
+        try (InnerScoreDirector<EmployeeSchedule, ?> scoreDirector = getSolverFactory(constraintName)
+                .getScoreDirectorFactory().buildScoreDirector(false, ConstraintMatchPolicy.DISABLED)) {
+            scoreDirector.setWorkingSolution(schedule);
+            scoreDirector.calculateScore();
+            doMoves(scoreDirector, schedule, moveShiftIndexes, moveEmployeeSeeds);
+            long startNanos = System.nanoTime();
+            doMoves(scoreDirector, schedule, moveShiftIndexes, moveEmployeeSeeds);
+            long nanos = System.nanoTime() - startNanos;
+            return moveShiftIndexes.length == 0 ? 0.0 : (double) nanos / moveShiftIndexes.length;
+        }
+    }
+
+    private static void doMoves(InnerScoreDirector<EmployeeSchedule, ?> scoreDirector, EmployeeSchedule schedule,
+            int[] moveShiftIndexes, int[] moveEmployeeSeeds) {
+        List<Shift> shifts = schedule.getShifts();
+        for (int i = 0; i < moveShiftIndexes.length; i++) {
+            Shift shift = shifts.get(moveShiftIndexes[i]);
+            List<Employee> availableEmployees = shift.getAvailableEmployees();
+            scoreDirector.beforeVariableChanged(shift, "employee");
+            shift.setEmployee(availableEmployees.get(moveEmployeeSeeds[i] % availableEmployees.size()));
+            scoreDirector.afterVariableChanged(shift, "employee");
+            scoreDirector.calculateScore();
+        }
+    }
+
+    private DefaultSolverFactory<EmployeeSchedule> getSolverFactory(String constraintName) {
+        return constraintNameToSolverFactory.computeIfAbsent(constraintName, name -> {
+            SolverConfig solverConfig = new SolverConfig(baseSolverConfig)
+                    .withScoreDirectorFactory(new ScoreDirectorFactoryConfig()
+                            .withConstraintProviderClass(SingleConstraintProvider.class)
+                            .withConstraintProviderCustomProperties(Map.of("constraintName", name)));
+            return (DefaultSolverFactory<EmployeeSchedule>) SolverFactory.<EmployeeSchedule> create(solverConfig);
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        executorService.shutdownNow();
+    }
+
+    private static <T> T pickRandom(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
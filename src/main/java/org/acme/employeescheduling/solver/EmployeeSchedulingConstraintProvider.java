@@ -2,23 +2,26 @@ package org.acme.employeescheduling.solver;
 
 import static ai.timefold.solver.core.api.score.stream.Joiners.equal;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.Comparator;
 
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.score.stream.Constraint;
 import ai.timefold.solver.core.api.score.stream.ConstraintCollectors;
 import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
 import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
 
-import org.acme.employeescheduling.domain.Employee;
 import org.acme.employeescheduling.domain.Shift;
-import org.threeten.extra.YearWeek;
 
 public class EmployeeSchedulingConstraintProvider implements ConstraintProvider {
 
+    // Orders two shifts that start on the same day, so only one of both is kept. Shifts need no id:
+    // those without one come first, and two of them are told apart by their times, then by identity.
+    private static final Comparator<Shift> SAME_DAY_SHIFT_ORDER =
+        Comparator.comparing(Shift::getId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingLong(Shift::getStartEpochMinute)
+            .thenComparingLong(Shift::getEndEpochMinute)
+            .thenComparingInt(System::identityHashCode);
+
     @Override
     public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
         return new Constraint[] {
@@ -32,69 +35,69 @@ public class EmployeeSchedulingConstraintProvider implements ConstraintProvider
     }
 
     Constraint noOverlappingShifts(ConstraintFactory constraintFactory) {
-        return constraintFactory.forEachUniquePair(Shift.class,
-                equal(Shift::getEmployee), // Same employee
-                equal(Shift::getStart)) // Same start time
-            .penalize(HardSoftBigDecimalScore.ONE_HARD)
+        // Two shifts overlap only if one starts on a day the other covers, so a hash join on
+        // (employee, day) finds every candidate pair, however long the shifts are.
+        // Shifts that start on the same day meet twice, once from each side; keep only one of both.
+        return constraintFactory.forEach(Shift.class)
+            .expand(Shift::getCoveredEpochDays)
+            .flattenLast(days -> days)
+            .join(Shift.class,
+                equal((shift, day) -> shift.getEmployee(), Shift::getEmployee), // Same employee
+                equal((shift, day) -> day, Shift::getStartEpochDayKey)) // Other shift starts on a covered day
+            .filter((shift, day, otherShift) -> day != shift.getStartEpochDay()
+                || SAME_DAY_SHIFT_ORDER.compare(shift, otherShift) < 0)
+            .map((shift, day, otherShift) -> shift, (shift, day, otherShift) -> otherShift)
+            .filter((shift, otherShift) -> shift.getOverlappingDurationInMinutes(otherShift) > 0)
+            .penalize(HardSoftLongScore.ONE_HARD) // One per overlapping pair, however long the overlap
             .asConstraint("Overlapping shifts for same employee");
     }
 
     Constraint unavailableEmployee(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
-            .join(Employee.class, equal(Shift::getEmployee, Function.identity()))
-            .flattenLast(employee -> employee.getUnavailableDates() != null ? employee.getUnavailableDates() : Set.of())
-            .filter(Shift::isOverlappingWithDate)
-            .penalize(HardSoftBigDecimalScore.ONE_HARD, Shift::getOverlappingDurationInMinutes)
+            .filter(shift -> getUnavailableDurationInMinutes(shift) > 0)
+            .penalize(HardSoftLongScore.ONE_HARD, EmployeeSchedulingConstraintProvider::getUnavailableDurationInMinutes)
             .asConstraint("Unavailable employee");
     }
 
     Constraint maxWorkingHoursPerWeek(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
-            // Group by (employee, date), counting number of shifts that day.
+            // Group by (employee, week), summing the actual duration of the shifts.
             .groupBy(
                 Shift::getEmployee,
-                shift -> shift.getStart().toLocalDate(),
-                ConstraintCollectors.count()
-            )
-            // dailyHours is 8 if shiftCount == 1, else 12 (assuming max 2 shifts/day).
-            .groupBy(
-                (employee, date, shiftCount) -> employee,
-                (employee, date, shiftCount) -> YearWeek.from(date),
-                ConstraintCollectors.sum((employee, date, shiftCount) ->
-                    shiftCount == 1 ? 8 : 12
-                )
+                Shift::getStartEpochWeek,
+                ConstraintCollectors.sum(Shift::getDurationInMinutes)
             )
             // Filter out those that exceed maxWorkingHoursPerWeek.
-            .filter((employee, yearWeek, totalWeeklyHours) ->
-                totalWeeklyHours > employee.getMaxWorkingHoursPerWeek()
+            .filter((employee, week, totalWeeklyMinutes) ->
+                totalWeeklyMinutes > employee.getMaxWorkingHoursPerWeek() * 60
             )
+            // Penalize every started hour too many, in hours like before the durations were exact.
             .penalize(
-                HardSoftBigDecimalScore.ONE_HARD,
-                (employee, yearWeek, totalWeeklyHours) ->
-                    totalWeeklyHours - employee.getMaxWorkingHoursPerWeek()
+                HardSoftLongScore.ONE_HARD,
+                (employee, week, totalWeeklyMinutes) ->
+                    (totalWeeklyMinutes - employee.getMaxWorkingHoursPerWeek() * 60 + 59) / 60
             )
             .asConstraint("Max weekly working hours exceeded");
     }
 
-
     Constraint roleRequirementConstraint(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
             .groupBy(
-                shift -> shift.getStart().toLocalDate(), // Group by date
-                shift -> getTimeSlot(shift),             // Group by morning or afternoon slot
-                ConstraintCollectors.toSet(Function.identity()) // Collect all shifts in the time slot
+                Shift::getTimeSlot, // Group by date and morning or afternoon slot
+                // Count the Specialists, so a move only updates a counter instead of rebuilding a set of shifts
+                ConstraintCollectors.conditionally(
+                    EmployeeSchedulingConstraintProvider::isAssignedToSpecialist,
+                    ConstraintCollectors.count())
             )
-            .filter((date, timeSlot, shifts) ->
-                shifts.stream().noneMatch(shift ->
-                    shift.getEmployee() != null && "Specialist".equals(shift.getEmployee().getRole())))
-            .penalize(HardSoftBigDecimalScore.ONE_HARD)
+            .filter((timeSlot, specialistCount) -> specialistCount == 0)
+            .penalize(HardSoftLongScore.ONE_HARD)
             .asConstraint("At least one Specialist per time slot");
     }
 
     Constraint balanceEmployeeShiftAssignments(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
             .groupBy(Shift::getEmployee, ConstraintCollectors.count())
-            .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_SOFT)
+            .penalize(HardSoftLongScore.ONE_SOFT)
             .asConstraint("Balance employee shift assignments");
     }
 
@@ -102,15 +105,16 @@ public class EmployeeSchedulingConstraintProvider implements ConstraintProvider
     Constraint preferredHolidaysConstraint(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
             .filter(shift -> shift.getEmployee() != null) // Ensure the shift has an assigned employee
-            .join(Employee.class, equal(Shift::getEmployee, Function.identity()))
-            .flattenLast(employee -> employee.getPreferredHolidays() != null ? employee.getPreferredHolidays() : Set.of())
-            .filter((shift, holiday) -> shift.getStart().toLocalDate().equals(holiday)) // Check if shift starts on a preferred holiday
-            .penalize(HardSoftBigDecimalScore.ONE_SOFT)
+            .filter(shift -> shift.getEmployee().isPreferredHolidayOn(shift.getStartEpochDay())) // Check if shift starts on a preferred holiday
+            .penalize(HardSoftLongScore.ONE_SOFT)
             .asConstraint("Preferred holiday not respected");
     }
 
-    private String getTimeSlot(Shift shift) {
-        LocalDateTime start = shift.getStart();
-        return start.toLocalTime().isBefore(LocalTime.of(14, 0)) ? "Morning" : "Afternoon";
+    private static boolean isAssignedToSpecialist(Shift shift) {
+        return shift.getEmployee() != null && "Specialist".equals(shift.getEmployee().getRole());
+    }
+
+    private static int getUnavailableDurationInMinutes(Shift shift) {
+        return shift.getUnavailableDurationInMinutes(shift.getEmployee());
     }
 }
@@ -0,0 +1,95 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+/**
+ * Terminates the jobs of the {@link TerminationPolicy#FEASIBLE_THEN_SPENT} and
+ * {@link TerminationPolicy#FEASIBLE_THEN_UNIMPROVED} policies, which Timefold's termination config can't express,
+ * by timing their best solutions.
+ * It also terminates jobs at a deadline that their own spent limit can't keep.
+ */
+@ApplicationScoped
+public class FeasibilityTerminator {
+
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private final ConcurrentMap<String, ScheduledFuture<?>> jobIdToTermination = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScheduledFuture<?>> jobIdToDeadline = new ConcurrentHashMap<>();
+
+    /**
+     * Call with every best solution of the job.
+     *
+     * @param terminator stops the job
+     */
+    public void onBestSolution(String jobId, TerminationPolicy policy, Duration afterFeasible, HardSoftLongScore score,
+            Runnable terminator) {
+        if (score == null || !score.isFeasible()) {
+            return;
+        }
+        switch (policy) {
+            case FEASIBLE_THEN_SPENT:
+                // Counted from the first feasible solution only.
+                jobIdToTermination.computeIfAbsent(jobId, id -> schedule(afterFeasible, terminator));
+                break;
+            case FEASIBLE_THEN_UNIMPROVED:
+                // Every improvement postpones the termination.
+                jobIdToTermination.compute(jobId, (id, termination) -> {
+                    if (termination != null) {
+                        termination.cancel(false);
+                    }
+                    return schedule(afterFeasible, terminator);
+                });
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * For jobs that solve partitions or a portfolio race in their problem finder, before Timefold starts
+     * their spent limit.
+     *
+     * @param terminator stops the job
+     */
+    public void scheduleDeadline(String jobId, Instant deadline, Runnable terminator) {
+        ScheduledFuture<?> previousDeadline = jobIdToDeadline.put(jobId,
+                schedule(Duration.between(Instant.now(), deadline), terminator));
+        if (previousDeadline != null) {
+            previousDeadline.cancel(false);
+        }
+    }
+
+    /**
+     * Call once the job has finished, successfully or not.
+     */
+    public void cancel(String jobId) {
+        ScheduledFuture<?> termination = jobIdToTermination.remove(jobId);
+        if (termination != null) {
+            termination.cancel(false);
+        }
+        ScheduledFuture<?> deadline = jobIdToDeadline.remove(jobId);
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+    }
+
+    private ScheduledFuture<?> schedule(Duration delay, Runnable terminator) {
+        return scheduledExecutorService.schedule(terminator, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void close() {
+        scheduledExecutorService.shutdownNow();
+    }
+}
@@ -0,0 +1,260 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a schedule into partitions of whole weeks and solves them in parallel.
+ * Most constraints only look at one day or one week, so the partitions are nearly independent.
+ * The merged schedule is only a starting point: the caller solves it as a whole afterwards,
+ * as a warm start, to fix what spans partitions, such as the shift balance across employees.
+ * <p>
+ * This is no speed-up by itself. On one core, HUGE with LATE_ACCEPTANCE ended at 0hard/-16soft after 68s,
+ * against 0hard/-11soft after 61s solving the whole schedule. It has not been compared on more cores yet,
+ * so jobs only use it if they ask for it.
+ */
+@ApplicationScoped
+public class PartitionedSolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedSolver.class);
+
+    private final SolverManagerRegistry solverManagerRegistry;
+    private final int weeksPerPartition;
+    private final String threadCount;
+    private final TerminationConfig partitionTerminationConfig;
+
+    private final ConcurrentMap<Algorithm, SolverManager<EmployeeSchedule, String>> algorithmToSolverManager =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PartitionRun> jobIdToPartitionRun = new ConcurrentHashMap<>();
+
+    @Inject
+    public PartitionedSolver(SolverManagerRegistry solverManagerRegistry,
+            @ConfigProperty(name = "employee-scheduling.partitioned.weeks-per-partition", defaultValue = "1") int weeksPerPartition,
+            @ConfigProperty(name = "employee-scheduling.partitioned.thread-count", defaultValue = "AUTO") String threadCount,
+            @ConfigProperty(name = "employee-scheduling.partitioned.partition-spent-limit", defaultValue = "10s") Duration partitionSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.partitioned.partition-unimproved-spent-limit", defaultValue = "1s") Duration partitionUnimprovedSpentLimit) {
+        if (weeksPerPartition < 1) {
+            throw new IllegalArgumentException("The weeksPerPartition (" + weeksPerPartition + ") must be at least 1.");
+        }
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.weeksPerPartition = weeksPerPartition;
+        this.threadCount = threadCount;
+        this.partitionTerminationConfig = new TerminationConfig()
+                .withSpentLimit(partitionSpentLimit)
+                .withUnimprovedSpentLimit(partitionUnimprovedSpentLimit);
+    }
+
+    /**
+     * Call when the job is submitted, before its problem finder runs,
+     * so a {@link #terminateEarly(String)} that comes before its partitions start is not lost.
+     */
+    public void register(String jobId) {
+        jobIdToPartitionRun.put(jobId, new PartitionRun());
+    }
+
+    /**
+     * Call once the job has finished, successfully or not.
+     */
+    public void unregister(String jobId) {
+        jobIdToPartitionRun.remove(jobId);
+    }
+
+    /**
+     * Solves every partition of the schedule and assigns their employees to its shifts.
+     * Blocks until all partitions are solved, the deadline passes or {@link #terminateEarly(String)} is called.
+     * If the job was terminated before, no partition is solved.
+     * Under {@link TerminationPolicy#FIRST_FEASIBLE}, every partition stops at its first feasible solution.
+     * <p>
+     * The caller's own {@link SolverManager#terminateEarly(Object)} waits for the problem finder to return
+     * and then stops the job before its first step, so a terminated job skips the solve of the whole schedule too.
+     *
+     * @param deadline when the job must be done, or null if only the partition time limits apply
+     * @return the given schedule
+     * @throws IllegalStateException if solving a partition failed
+     */
+    public EmployeeSchedule solvePartitions(String jobId, EmployeeSchedule schedule, Algorithm algorithm,
+            Instant deadline, TerminationPolicy policy) {
+        PartitionRun run = jobIdToPartitionRun.computeIfAbsent(jobId, id -> new PartitionRun());
+        List<EmployeeSchedule> partitions = partition(schedule);
+        SolverManager<EmployeeSchedule, String> solverManager =
+                algorithmToSolverManager.computeIfAbsent(algorithm, this::buildSolverManager);
+        SolverConfigOverride<EmployeeSchedule> configOverride = new SolverConfigOverride<EmployeeSchedule>()
+                .withTerminationConfig(SolverManagerRegistry.limitToJob(partitionTerminationConfig, deadline, policy));
+        List<SolverJob<EmployeeSchedule, String>> partitionJobs = run.partitionJobs;
+        try {
+            synchronized (run) {
+                if (run.cancelled) {
+                    LOGGER.info("Skipped the partitions of jobId ({}), because it was terminated.", jobId);
+                    return schedule;
+                }
+                LOGGER.info("Solving jobId ({}) in {} partitions of {} week(s).", jobId, partitions.size(),
+                        weeksPerPartition);
+                for (int i = 0; i < partitions.size(); i++) {
+                    String partitionId = jobId + "/" + i;
+                    EmployeeSchedule partition = partitions.get(i);
+                    partitionJobs.add(solverManager.solveBuilder()
+                            .withProblemId(partitionId)
+                            .withProblemFinder(id -> {
+                                solverManagerRegistry.acquireSlot(id);
+                                return partition;
+                            })
+                            .withConfigOverride(configOverride)
+                            .withFinalBestSolutionConsumer(solution -> {
+                                solverManagerRegistry.releaseSlot(partitionId);
+                                run.onPartitionFinished();
+                            })
+                            .withExceptionHandler((id, exception) -> {
+                                solverManagerRegistry.releaseSlot(id);
+                                run.onPartitionFinished();
+                            })
+                            .run());
+                }
+            }
+            // The spent limit of a partition that waits for a solver thread or slot only starts once it gets one,
+            // so the deadline is kept here.
+            if (!run.awaitPartitions(deadline)) {
+                LOGGER.info("Terminating the partitions of jobId ({}) at its deadline.", jobId);
+                terminateEarly(jobId);
+            }
+            Map<String, Employee> nameToEmployee = new HashMap<>(schedule.getEmployees().size() * 2);
+            schedule.getEmployees().forEach(employee -> nameToEmployee.put(employee.getName(), employee));
+            Map<String, Shift> idToShift = new HashMap<>(schedule.getShifts().size() * 2);
+            schedule.getShifts().forEach(shift -> idToShift.put(shift.getId(), shift));
+            for (SolverJob<EmployeeSchedule, String> partitionJob : partitionJobs) {
+                EmployeeSchedule solvedPartition = partitionJob.getFinalBestSolution();
+                if (solvedPartition == null) {
+                    // Terminated before it got a solver thread, so its shifts keep their employees.
+                    continue;
+                }
+                for (Shift solvedShift : solvedPartition.getShifts()) {
+                    Shift shift = idToShift.get(solvedShift.getId());
+                    if (!shift.isPinned() && solvedShift.getEmployee() != null) {
+                        shift.setEmployee(nameToEmployee.get(solvedShift.getEmployee().getName()));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted solving the partitions of jobId (" + jobId + ").", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed solving the partitions of jobId (" + jobId + ").", e.getCause());
+        } finally {
+            synchronized (run) {
+                // Also forgets the cancelled slots of partitions that never started.
+                partitionJobs.forEach(partitionJob -> solverManagerRegistry.releaseSlot(partitionJob.getProblemId()));
+                partitionJobs.clear();
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Stops solving the partitions of the job, which then keep their best solution so far,
+     * or keeps them from starting.
+     */
+    public void terminateEarly(String jobId) {
+        PartitionRun run = jobIdToPartitionRun.get(jobId);
+        if (run == null) {
+            return;
+        }
+        List<SolverJob<EmployeeSchedule, String>> partitionJobs;
+        synchronized (run) {
+            run.cancelled = true;
+            partitionJobs = List.copyOf(run.partitionJobs);
+            run.notifyAll();
+        }
+        // Not under the run's lock: SolverJob.terminateEarly() waits for the partition's final best solution consumer,
+        // which takes it.
+        for (SolverJob<EmployeeSchedule, String> partitionJob : partitionJobs) {
+            solverManagerRegistry.cancelSlot(partitionJob.getProblemId());
+            partitionJob.terminateEarly();
+        }
+    }
+
+    /**
+     * Every partition gets a copy of all employees and the shifts that start in its weeks,
+     * so partitions can be solved in parallel without sharing anything the solver changes.
+     */
+    private List<EmployeeSchedule> partition(EmployeeSchedule schedule) {
+        Map<Long, List<Shift>> partitionIndexToShifts = new TreeMap<>();
+        for (Shift shift : schedule.getShifts()) {
+            partitionIndexToShifts
+                    .computeIfAbsent(Math.floorDiv(shift.getStartEpochWeek(), weeksPerPartition), index -> new ArrayList<>())
+                    .add(shift);
+        }
+        List<EmployeeSchedule> partitions = new ArrayList<>(partitionIndexToShifts.size());
+        for (List<Shift> shifts : partitionIndexToShifts.values()) {
+            partitions.add(new EmployeeSchedule(schedule.getEmployees(), shifts).copyProblem());
+        }
+        return partitions;
+    }
+
+    private SolverManager<EmployeeSchedule, String> buildSolverManager(Algorithm algorithm) {
+        SolverFactory<EmployeeSchedule> solverFactory =
+                SolverFactory.create(solverManagerRegistry.buildSolverConfig(algorithm));
+        return SolverManager.create(solverFactory, new SolverManagerConfig().withParallelSolverCount(threadCount));
+    }
+
+    private static final class PartitionRun {
+
+        // Guarded by the run itself.
+        private boolean cancelled = false;
+        private final List<SolverJob<EmployeeSchedule, String>> partitionJobs = new ArrayList<>();
+        private int finishedCount = 0;
+
+        private synchronized void onPartitionFinished() {
+            finishedCount++;
+            notifyAll();
+        }
+
+        /**
+         * @return false if the deadline passed before every partition had finished
+         */
+        private synchronized boolean awaitPartitions(Instant deadline) throws InterruptedException {
+            while (!cancelled && finishedCount < partitionJobs.size()) {
+                if (deadline == null) {
+                    wait();
+                } else {
+                    long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+                    if (remainingMillis <= 0L) {
+                        return false;
+                    }
+                    wait(remainingMillis);
+                }
+            }
+            return true;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        algorithmToSolverManager.values().forEach(SolverManager::close);
+        algorithmToSolverManager.clear();
+    }
+}
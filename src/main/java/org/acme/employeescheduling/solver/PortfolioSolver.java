@@ -0,0 +1,415 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Races several local search algorithms on copies of the same problem, concurrently and with the same time limit,
+ * and keeps the best solution of any of them.
+ * Every elimination interval, the algorithm with the worst best score is terminated if it is behind the leader,
+ * so the remaining ones get its CPU. Only algorithms that are solving and have a best score are ranked.
+ * <p>
+ * A portfolio job runs on the {@link #getSolverManager() solver manager} of this class: its solver thread waits
+ * for the race in the problem finder and then polishes the winner, without holding a thread or a solver slot
+ * that other jobs need.
+ */
+@ApplicationScoped
+public class PortfolioSolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioSolver.class);
+
+    /**
+     * The {@code algorithm} query parameter value that selects this solver.
+     */
+    public static final String PORTFOLIO = "PORTFOLIO";
+
+    public static final Algorithm POLISH_ALGORITHM = Algorithm.HILL_CLIMBING;
+
+    static final List<Algorithm> ALGORITHMS = List.of(Algorithm.TABU_SEARCH, Algorithm.LATE_ACCEPTANCE,
+            Algorithm.SIMULATED_ANNEALING, Algorithm.GREAT_DELUGE);
+
+    private final SolverManagerRegistry solverManagerRegistry;
+    private final TerminationConfig terminationConfig;
+    private final long eliminationIntervalMillis;
+
+    private final ConcurrentMap<String, Race> jobIdToRace = new ConcurrentHashMap<>();
+    private SolverManager<EmployeeSchedule, String> solverManager;
+
+    @Inject
+    public PortfolioSolver(SolverManagerRegistry solverManagerRegistry,
+            @ConfigProperty(name = "employee-scheduling.portfolio.spent-limit", defaultValue = "30s") Duration spentLimit,
+            @ConfigProperty(name = "employee-scheduling.portfolio.elimination-interval", defaultValue = "5s") Duration eliminationInterval) {
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.terminationConfig = new TerminationConfig().withSpentLimit(spentLimit);
+        this.eliminationIntervalMillis = eliminationInterval.toMillis();
+    }
+
+    public static boolean isPortfolio(String algorithm) {
+        return PORTFOLIO.equalsIgnoreCase(algorithm);
+    }
+
+    /**
+     * For portfolio jobs only, which polish the winner of their race with {@link #POLISH_ALGORITHM}.
+     */
+    public synchronized SolverManager<EmployeeSchedule, String> getSolverManager() {
+        if (solverManager == null) {
+            solverManager = SolverManager.create(
+                    SolverFactory.create(solverManagerRegistry.buildSolverConfig(POLISH_ALGORITHM)),
+                    solverManagerRegistry.buildSolverManagerConfig());
+        }
+        return solverManager;
+    }
+
+    /**
+     * Call when the job is submitted, before its problem finder runs,
+     * so a {@link #terminateEarly(String)} that comes before its race starts is not lost.
+     */
+    public void register(String jobId) {
+        jobIdToRace.put(jobId, new Race());
+    }
+
+    /**
+     * Call once the job has finished, successfully or not.
+     */
+    public void unregister(String jobId) {
+        jobIdToRace.remove(jobId);
+    }
+
+    /**
+     * Blocks until every algorithm has finished or was eliminated, the deadline passes
+     * or {@link #terminateEarly(String)} is called.
+     * If the job was terminated before, no algorithm is started.
+     * Under {@link TerminationPolicy#FIRST_FEASIBLE}, the race ends at the first feasible solution of any algorithm.
+     *
+     * @param deadline when the job must be done, or null if only the portfolio spent limit applies
+     * @param bestSolutionConsumer called with every solution that is better than all before it, never concurrently
+     * and never after this method returns
+     * @return the best solution of all algorithms, or the problem if no algorithm was started
+     * @throws IllegalStateException if an algorithm failed
+     */
+    public EmployeeSchedule race(String jobId, EmployeeSchedule problem, Instant deadline, TerminationPolicy policy,
+            Consumer<EmployeeSchedule> bestSolutionConsumer) {
+        Race race = jobIdToRace.computeIfAbsent(jobId, id -> new Race());
+        if (!race.start(bestSolutionConsumer, policy == TerminationPolicy.FIRST_FEASIBLE)) {
+            LOGGER.info("Skipped the portfolio of jobId ({}), because it was terminated.", jobId);
+            return problem;
+        }
+        try {
+            SolverConfigOverride<EmployeeSchedule> configOverride = new SolverConfigOverride<EmployeeSchedule>()
+                    .withTerminationConfig(SolverManagerRegistry.limitToJob(terminationConfig, deadline, policy));
+            for (Algorithm algorithm : ALGORITHMS) {
+                String contestantId = getContestantId(jobId, algorithm);
+                EmployeeSchedule contestantProblem = problem.copyProblem();
+                Contestant contestant = new Contestant(algorithm,
+                        () -> solverManagerRegistry.cancelSlot(contestantId));
+                race.add(contestant, solverManagerRegistry.getSolverManager(algorithm).solveBuilder()
+                        .withProblemId(contestantId)
+                        .withProblemFinder(id -> {
+                            solverManagerRegistry.acquireSlot(id);
+                            return contestantProblem;
+                        })
+                        .withConfigOverride(configOverride)
+                        .withBestSolutionConsumer(solution -> race.improve(contestant, solution))
+                        .withFinalBestSolutionConsumer(solution -> {
+                            solverManagerRegistry.releaseSlot(contestantId);
+                            race.finish(contestant);
+                        })
+                        .withExceptionHandler((id, exception) -> solverManagerRegistry.releaseSlot(id))
+                        .run());
+            }
+            while (race.awaitElimination(eliminationIntervalMillis, deadline)) {
+                Contestant eliminated = race.eliminateWorst();
+                if (eliminated != null) {
+                    LOGGER.info("Eliminated {} from the portfolio of jobId ({}) with best score ({}).",
+                            eliminated.algorithm, jobId, eliminated.bestScore);
+                }
+            }
+            race.terminateIfStopping();
+            EmployeeSchedule best = race.getBestFinalSolution();
+            if (best == null) {
+                LOGGER.info("Finished the portfolio of jobId ({}) before any algorithm started.", jobId);
+                return problem;
+            }
+            LOGGER.info("Finished the portfolio of jobId ({}) with best score ({}).", jobId, best.getScore());
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.terminateEarly();
+            throw new IllegalStateException("Interrupted the portfolio of jobId (" + jobId + ").", e);
+        } catch (ExecutionException e) {
+            race.terminateEarly();
+            throw new IllegalStateException("Failed the portfolio of jobId (" + jobId + ").", e.getCause());
+        } finally {
+            race.close();
+            // Also forgets the cancelled slots of contestants that never started.
+            ALGORITHMS.forEach(algorithm -> solverManagerRegistry.releaseSlot(getContestantId(jobId, algorithm)));
+        }
+    }
+
+    private static String getContestantId(String jobId, Algorithm algorithm) {
+        return jobId + "/" + algorithm;
+    }
+
+    /**
+     * Stops every algorithm of the job's race, which then returns the best solution so far.
+     */
+    public void terminateEarly(String jobId) {
+        Race race = jobIdToRace.get(jobId);
+        if (race != null) {
+            race.terminateEarly();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (solverManager != null) {
+            solverManager.close();
+            solverManager = null;
+        }
+    }
+
+    static final class Contestant {
+
+        private final Algorithm algorithm;
+        // Lets a contestant that waits for a solver slot be terminated.
+        private final Runnable slotCanceller;
+        private SolverJob<EmployeeSchedule, String> solverJob;
+        private HardSoftLongScore bestScore;
+        private boolean eliminated = false;
+        // Its solver job is only NOT_SOLVING after its final best solution consumer has returned.
+        private boolean finished = false;
+
+        Contestant(Algorithm algorithm) {
+            this(algorithm, () -> {
+            });
+        }
+
+        Contestant(Algorithm algorithm, Runnable slotCanceller) {
+            this.algorithm = algorithm;
+            this.slotCanceller = slotCanceller;
+        }
+
+        private void terminateEarly() {
+            slotCanceller.run();
+            solverJob.terminateEarly();
+        }
+
+        private boolean isRunning() {
+            return !eliminated && !finished && solverJob.getSolverStatus() != SolverStatus.NOT_SOLVING;
+        }
+
+        /**
+         * A contestant that is still waiting for a solver thread, or has no best solution yet, can't be compared.
+         */
+        private boolean isRanked() {
+            return !eliminated && bestScore != null && solverJob.getSolverStatus() == SolverStatus.SOLVING_ACTIVE;
+        }
+    }
+
+    static final class Race {
+
+        private Consumer<EmployeeSchedule> bestSolutionConsumer;
+        private final List<Contestant> contestants = new ArrayList<>();
+        private HardSoftLongScore bestScore;
+        private boolean terminatedEarly = false;
+        private boolean stopAtFeasible = false;
+        // Set once the race must end before its contestants do: at the deadline or at the first feasible solution.
+        private boolean stopping = false;
+
+        // Serializes the best solution consumer apart from the race lock,
+        // so a slow consumer never holds up eliminations or the other contestants' scores.
+        private final Object consumerLock = new Object();
+        // Guarded by the consumer lock.
+        private HardSoftLongScore consumedScore;
+        private boolean closed = false;
+
+        /**
+         * @return false if the race was terminated before it started
+         */
+        synchronized boolean start(Consumer<EmployeeSchedule> bestSolutionConsumer, boolean stopAtFeasible) {
+            this.bestSolutionConsumer = bestSolutionConsumer;
+            this.stopAtFeasible = stopAtFeasible;
+            return !terminatedEarly;
+        }
+
+        void add(Contestant contestant, SolverJob<EmployeeSchedule, String> solverJob) {
+            boolean terminate;
+            synchronized (this) {
+                contestant.solverJob = solverJob;
+                contestants.add(contestant);
+                terminate = terminatedEarly;
+            }
+            if (terminate) {
+                contestant.terminateEarly();
+            }
+        }
+
+        void improve(Contestant contestant, EmployeeSchedule solution) {
+            HardSoftLongScore score = solution.getScore();
+            Consumer<EmployeeSchedule> consumer;
+            synchronized (this) {
+                if (contestant.bestScore == null || score.compareTo(contestant.bestScore) > 0) {
+                    contestant.bestScore = score;
+                }
+                if (bestScore != null && score.compareTo(bestScore) <= 0) {
+                    return;
+                }
+                bestScore = score;
+                consumer = bestSolutionConsumer;
+                if (stopAtFeasible && score.isFeasible()) {
+                    // Terminated by the race thread, because terminating a solver job from its own consumer
+                    // would wait for that consumer to return.
+                    stopping = true;
+                    notifyAll();
+                }
+            }
+            synchronized (consumerLock) {
+                // Another contestant may have passed on a better solution in the meantime.
+                if (!closed && (consumedScore == null || score.compareTo(consumedScore) > 0)) {
+                    consumedScore = score;
+                    consumer.accept(solution);
+                }
+            }
+        }
+
+        /**
+         * Waits for the next elimination, unless the race ends first.
+         * With a deadline, the race goes on while any algorithm is running, so the deadline stops the last one too,
+         * even if it waited for a solver thread and so started its spent limit late.
+         *
+         * @param deadline null if there is none
+         * @return false once the race is over: terminated early, at the deadline or the first feasible solution,
+         * or at most one algorithm is still running, or none if there is a deadline
+         */
+        private synchronized boolean awaitElimination(long timeoutMillis, Instant deadline)
+                throws InterruptedException {
+            long eliminationMillis = System.currentTimeMillis() + timeoutMillis;
+            long deadlineMillis = deadline == null ? Long.MAX_VALUE : deadline.toEpochMilli();
+            while (!terminatedEarly && !stopping && countRunning() > (deadline == null ? 1 : 0)) {
+                long nowMillis = System.currentTimeMillis();
+                if (nowMillis >= deadlineMillis) {
+                    stopping = true;
+                    return false;
+                }
+                if (nowMillis >= eliminationMillis) {
+                    return true;
+                }
+                wait(Math.min(eliminationMillis, deadlineMillis) - nowMillis);
+            }
+            return false;
+        }
+
+        private long countRunning() {
+            return contestants.stream().filter(Contestant::isRunning).count();
+        }
+
+        /**
+         * @return the eliminated algorithm, or null if fewer than two are ranked
+         * or the worst ranked one is tied with the leader
+         */
+        Contestant eliminateWorst() {
+            Contestant worst = null;
+            synchronized (this) {
+                int rankedCount = 0;
+                for (Contestant contestant : contestants) {
+                    if (contestant.isRanked()) {
+                        rankedCount++;
+                        if (worst == null || contestant.bestScore.compareTo(worst.bestScore) < 0) {
+                            worst = contestant;
+                        }
+                    }
+                }
+                if (rankedCount < 2 || worst.bestScore.equals(bestScore)) {
+                    return null;
+                }
+                worst.eliminated = true;
+            }
+            worst.terminateEarly();
+            return worst;
+        }
+
+        /**
+         * @return null if no contestant got a solver thread
+         */
+        private EmployeeSchedule getBestFinalSolution() throws InterruptedException, ExecutionException {
+            List<Contestant> finalContestants;
+            synchronized (this) {
+                finalContestants = List.copyOf(contestants);
+            }
+            EmployeeSchedule best = null;
+            for (Contestant contestant : finalContestants) {
+                EmployeeSchedule solution = contestant.solverJob.getFinalBestSolution();
+                // Null if the contestant was terminated before it got a solver thread.
+                if (solution == null) {
+                    continue;
+                }
+                if (best == null || solution.getScore().compareTo(best.getScore()) > 0) {
+                    best = solution;
+                }
+            }
+            return best;
+        }
+
+        private synchronized void finish(Contestant contestant) {
+            contestant.finished = true;
+            notifyAll();
+        }
+
+        /**
+         * Terminates the race if it reached its deadline or, under FIRST_FEASIBLE, a feasible solution.
+         */
+        void terminateIfStopping() {
+            boolean stop;
+            synchronized (this) {
+                stop = stopping;
+            }
+            if (stop) {
+                terminateEarly();
+            }
+        }
+
+        // SolverJob.terminateEarly() waits for the job's consumers to return, and they take the race lock,
+        // so every contestant is terminated without holding it.
+        void terminateEarly() {
+            List<Contestant> terminatedContestants;
+            synchronized (this) {
+                terminatedEarly = true;
+                terminatedContestants = List.copyOf(contestants);
+                notifyAll();
+            }
+            terminatedContestants.forEach(Contestant::terminateEarly);
+        }
+
+        /**
+         * Waits for a best solution consumer that is still running, so none runs after this returns.
+         */
+        private void close() {
+            synchronized (consumerLock) {
+                closed = true;
+            }
+        }
+    }
+}
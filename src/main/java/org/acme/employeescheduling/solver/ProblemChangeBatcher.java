@@ -0,0 +1,96 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.solver.change.ProblemChangeBatch;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Collects the problem changes submitted for a job during one {@code batchInterval}
+ * and hands them to the solver as a single {@link ProblemChangeBatch}.
+ * Every problem change makes the solver restart its phases, so a burst of edits costs one restart instead of many.
+ */
+@ApplicationScoped
+public class ProblemChangeBatcher {
+
+    private final SolverManagerRegistry solverManagerRegistry;
+    private final long batchIntervalNanos;
+
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private final ConcurrentMap<String, List<PendingProblemChange>> jobIdToPendingProblemChanges =
+            new ConcurrentHashMap<>();
+
+    @Inject
+    public ProblemChangeBatcher(SolverManagerRegistry solverManagerRegistry,
+            @ConfigProperty(name = "employee-scheduling.problem-change.batch-interval", defaultValue = "100ms") Duration batchInterval) {
+        this.solverManagerRegistry = solverManagerRegistry;
+        this.batchIntervalNanos = batchInterval.toNanos();
+    }
+
+    /**
+     * @return completes once the solver has applied the change, or exceptionally if the job stopped solving first
+     */
+    public CompletableFuture<Void> submit(String jobId, ProblemChange<EmployeeSchedule> problemChange) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean[] newBatch = { false };
+        jobIdToPendingProblemChanges.compute(jobId, (id, pendingProblemChanges) -> {
+            if (pendingProblemChanges == null) {
+                pendingProblemChanges = new ArrayList<>();
+                newBatch[0] = true;
+            }
+            pendingProblemChanges.add(new PendingProblemChange(problemChange, future));
+            return pendingProblemChanges;
+        });
+        // The first change of a batch schedules its flush.
+        if (newBatch[0]) {
+            scheduledExecutorService.schedule(() -> flush(jobId), batchIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    private void flush(String jobId) {
+        List<PendingProblemChange> pendingProblemChanges = jobIdToPendingProblemChanges.remove(jobId);
+        if (pendingProblemChanges == null) {
+            return;
+        }
+        List<ProblemChange<EmployeeSchedule>> problemChanges = pendingProblemChanges.stream()
+                .map(PendingProblemChange::problemChange)
+                .toList();
+        try {
+            solverManagerRegistry.addProblemChange(jobId, new ProblemChangeBatch(problemChanges))
+                    .whenComplete((result, exception) -> pendingProblemChanges.forEach(pending -> {
+                        if (exception == null) {
+                            pending.future().complete(null);
+                        } else {
+                            pending.future().completeExceptionally(exception);
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            pendingProblemChanges.forEach(pending -> pending.future().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    private record PendingProblemChange(ProblemChange<EmployeeSchedule> problemChange,
+            CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,38 @@
+package org.acme.employeescheduling.solver;
+
+import java.util.Arrays;
+
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+
+/**
+ * Defines only the constraint of {@link EmployeeSchedulingConstraintProvider} named {@code constraintName},
+ * or all of them for {@link #ALL_CONSTRAINTS}.
+ * Set through {@code constraintProviderCustomProperties}.
+ * Used by {@link ConstraintProfiler} and {@code ScoreCalculationBenchmark} to measure one constraint at a time.
+ */
+public class SingleConstraintProvider extends EmployeeSchedulingConstraintProvider {
+
+    public static final String ALL_CONSTRAINTS = "ALL";
+
+    private String constraintName = ALL_CONSTRAINTS;
+
+    public void setConstraintName(String constraintName) {
+        this.constraintName = constraintName;
+    }
+
+    @Override
+    public Constraint[] defineConstraints(ConstraintFactory constraintFactory) {
+        Constraint[] constraints = super.defineConstraints(constraintFactory);
+        if (ALL_CONSTRAINTS.equals(constraintName)) {
+            return constraints;
+        }
+        Constraint[] selectedConstraints = Arrays.stream(constraints)
+                .filter(constraint -> constraint.getConstraintRef().constraintName().equals(constraintName))
+                .toArray(Constraint[]::new);
+        if (selectedConstraints.length == 0) {
+            throw new IllegalArgumentException("The constraintName (" + constraintName + ") does not exist.");
+        }
+        return selectedConstraints;
+    }
+}
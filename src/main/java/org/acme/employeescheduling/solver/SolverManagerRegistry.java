@@ -0,0 +1,295 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Holds one long-lived {@link SolverManager} per {@link Algorithm}, built lazily on first use,
+ * and remembers which manager runs which job so status and termination requests reach it.
+ * <p>
+ * Every solver manager has threads of its own, so the parallel solver count is enforced here instead,
+ * as solver slots that are shared by the jobs of all managers, the portfolio contestants and the partitions.
+ * A job takes a slot in its problem finder, so a job that waits for one holds a thread, but no core.
+ */
+@ApplicationScoped
+public class SolverManagerRegistry {
+
+    // Only used if neither the job nor the solver config has a spent limit.
+    private static final Duration DEFAULT_SPENT_LIMIT = Duration.ofMinutes(5);
+    private static final String FEASIBLE_SCORE_LIMIT = "0hard/*soft";
+
+    private final SolverConfig baseSolverConfig;
+    private final Duration warmStartSpentLimit;
+    private final Duration warmStartUnimprovedSpentLimit;
+    private final int slotCount;
+    private final boolean timeLocalSwaps;
+
+    private final ConcurrentMap<Algorithm, SolverManager<EmployeeSchedule, String>> algorithmToSolverManager =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SolverManager<EmployeeSchedule, String>> jobIdToSolverManager =
+            new ConcurrentHashMap<>();
+    // Guarded by the set of slot holders.
+    private final Set<String> slotHolderIds = new HashSet<>();
+    private final Set<String> cancelledSlotIds = new HashSet<>();
+
+    @Inject
+    public SolverManagerRegistry(SolverConfig baseSolverConfig,
+            @ConfigProperty(name = "employee-scheduling.warm-start.spent-limit", defaultValue = "10s") Duration warmStartSpentLimit,
+            @ConfigProperty(name = "employee-scheduling.warm-start.unimproved-spent-limit", defaultValue = "2s") Duration warmStartUnimprovedSpentLimit,
+            @ConfigProperty(name = "quarkus.timefold.solver-manager.parallel-solver-count", defaultValue = "AUTO") String parallelSolverCount,
+            @ConfigProperty(name = "employee-scheduling.time-local-swaps.enabled", defaultValue = "false") boolean timeLocalSwaps) {
+        this.baseSolverConfig = baseSolverConfig;
+        this.warmStartSpentLimit = warmStartSpentLimit;
+        this.warmStartUnimprovedSpentLimit = warmStartUnimprovedSpentLimit;
+        this.slotCount = new SolverManagerConfig().withParallelSolverCount(parallelSolverCount)
+                .resolveParallelSolverCount();
+        this.timeLocalSwaps = timeLocalSwaps;
+    }
+
+    /**
+     * For solver managers that are not owned by this registry, but whose jobs take its slots.
+     *
+     * @return enough threads for one solver manager to use every slot
+     */
+    public SolverManagerConfig buildSolverManagerConfig() {
+        return new SolverManagerConfig().withParallelSolverCount(String.valueOf(slotCount));
+    }
+
+    public SolverManager<EmployeeSchedule, String> getSolverManager(Algorithm algorithm) {
+        return algorithmToSolverManager.computeIfAbsent(algorithm, this::buildSolverManager);
+    }
+
+    /**
+     * Binds the job to the manager of the given algorithm. Call before submitting the job.
+     */
+    public SolverManager<EmployeeSchedule, String> register(String jobId, Algorithm algorithm) {
+        return register(jobId, getSolverManager(algorithm));
+    }
+
+    /**
+     * Binds the job to a manager that is not owned by this registry. Call before submitting the job.
+     */
+    public SolverManager<EmployeeSchedule, String> register(String jobId,
+            SolverManager<EmployeeSchedule, String> solverManager) {
+        jobIdToSolverManager.put(jobId, solverManager);
+        return solverManager;
+    }
+
+    /**
+     * Call once the job has finished, successfully or not.
+     */
+    public void unregister(String jobId) {
+        jobIdToSolverManager.remove(jobId);
+        releaseSlot(jobId);
+    }
+
+    /**
+     * Waits for a free solver slot and takes it. Call from the problem finder of a job,
+     * once the job does nothing but solve: a job that waits for other jobs, such as its partitions, must not hold one.
+     *
+     * @param id the problem ID of the job
+     * @return false if {@link #cancelSlot(String)} was called for the ID, or the thread was interrupted,
+     * before a slot was free: the job then solves without one, to be terminated
+     */
+    public boolean acquireSlot(String id) {
+        synchronized (slotHolderIds) {
+            try {
+                while (!cancelledSlotIds.contains(id)) {
+                    if (slotHolderIds.size() < slotCount) {
+                        slotHolderIds.add(id);
+                        return true;
+                    }
+                    slotHolderIds.wait();
+                }
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Makes the job stop waiting for a slot, now or later. Call before {@link SolverJob#terminateEarly()},
+     * which waits for the problem finder to return.
+     */
+    public void cancelSlot(String id) {
+        synchronized (slotHolderIds) {
+            cancelledSlotIds.add(id);
+            slotHolderIds.notifyAll();
+        }
+    }
+
+    /**
+     * Frees the slot of the job, if it has one, and forgets that it was cancelled.
+     * Call once the job has finished, successfully or not.
+     */
+    public void releaseSlot(String id) {
+        synchronized (slotHolderIds) {
+            cancelledSlotIds.remove(id);
+            if (slotHolderIds.remove(id)) {
+                slotHolderIds.notifyAll();
+            }
+        }
+    }
+
+    public SolverStatus getSolverStatus(String jobId) {
+        SolverManager<EmployeeSchedule, String> solverManager = jobIdToSolverManager.get(jobId);
+        return solverManager == null ? SolverStatus.NOT_SOLVING : solverManager.getSolverStatus(jobId);
+    }
+
+    public void terminateEarly(String jobId) {
+        SolverManager<EmployeeSchedule, String> solverManager = jobIdToSolverManager.get(jobId);
+        if (solverManager != null) {
+            cancelSlot(jobId);
+            solverManager.terminateEarly(jobId);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the job is not registered
+     */
+    public CompletableFuture<Void> addProblemChange(String jobId, ProblemChange<EmployeeSchedule> problemChange) {
+        SolverManager<EmployeeSchedule, String> solverManager = jobIdToSolverManager.get(jobId);
+        if (solverManager == null) {
+            throw new IllegalStateException("The jobId (" + jobId + ") is not solving.");
+        }
+        return solverManager.addProblemChange(jobId, problemChange);
+    }
+
+    /**
+     * A warm start, such as a re-solve of an earlier job's schedule, starts close to a good solution:
+     * the construction heuristic only assigns the unassigned shifts, so it gets the shorter warm start termination.
+     * A problem that merely has some assigned shifts is no warm start unless the client says so,
+     * because those assignments can be far from good.
+     *
+     * @param profile null for the configured termination
+     */
+    public SolverConfigOverride<EmployeeSchedule> buildConfigOverride(SolverProfile profile, boolean warmStart) {
+        if (warmStart) {
+            return buildWarmStartConfigOverride();
+        }
+        return profile == null ? new SolverConfigOverride<>() : profile.buildConfigOverride();
+    }
+
+    public SolverConfigOverride<EmployeeSchedule> buildWarmStartConfigOverride() {
+        return new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(new TerminationConfig()
+                .withSpentLimit(warmStartSpentLimit)
+                .withUnimprovedSpentLimit(warmStartUnimprovedSpentLimit));
+    }
+
+    /**
+     * @param configOverride the time limits of the job under {@link TerminationPolicy#DEFAULT}
+     * @param spentLimit the most time the job may take, or null to keep the spent limit of the config override,
+     * or else of the solver config
+     */
+    public SolverConfigOverride<EmployeeSchedule> applyTerminationPolicy(
+            SolverConfigOverride<EmployeeSchedule> configOverride, TerminationPolicy policy, Duration spentLimit) {
+        if (policy == TerminationPolicy.DEFAULT && spentLimit == null) {
+            return configOverride;
+        }
+        TerminationConfig terminationConfig = configOverride.getTerminationConfig() != null
+                ? configOverride.getTerminationConfig()
+                : baseSolverConfig.getTerminationConfig();
+        if (spentLimit == null) {
+            spentLimit = terminationConfig == null || terminationConfig.getSpentLimit() == null
+                    ? DEFAULT_SPENT_LIMIT
+                    : terminationConfig.getSpentLimit();
+        }
+        if (policy == TerminationPolicy.DEFAULT) {
+            TerminationConfig cappedTerminationConfig =
+                    terminationConfig == null ? new TerminationConfig() : terminationConfig.copyConfig();
+            return new SolverConfigOverride<EmployeeSchedule>()
+                    .withTerminationConfig(cappedTerminationConfig.withSpentLimit(spentLimit));
+        }
+        // The unimproved limits are left out, because they could stop the job before it is feasible.
+        TerminationConfig policyTerminationConfig = new TerminationConfig().withSpentLimit(spentLimit);
+        if (policy == TerminationPolicy.FIRST_FEASIBLE) {
+            policyTerminationConfig.setBestScoreLimit(FEASIBLE_SCORE_LIMIT);
+        }
+        return new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(policyTerminationConfig);
+    }
+
+    /**
+     * Limits a phase that runs before the job's own solve, such as its partitions or its portfolio race,
+     * to the job's deadline and termination policy.
+     *
+     * @param deadline null if the job has no spent limit of its own
+     * @return a copy of the termination config, that ends by the deadline and, under
+     * {@link TerminationPolicy#FIRST_FEASIBLE}, at the first feasible solution
+     */
+    public static TerminationConfig limitToJob(TerminationConfig terminationConfig, Instant deadline,
+            TerminationPolicy policy) {
+        TerminationConfig limitedTerminationConfig = terminationConfig.copyConfig();
+        if (deadline != null) {
+            // At least a millisecond, because a zero spent limit is no limit to every solver phase.
+            Duration remaining = Duration.ofMillis(Math.max(1L, Duration.between(Instant.now(), deadline).toMillis()));
+            if (limitedTerminationConfig.getSpentLimit() == null
+                    || remaining.compareTo(limitedTerminationConfig.getSpentLimit()) < 0) {
+                limitedTerminationConfig.setSpentLimit(remaining);
+            }
+        }
+        if (policy == TerminationPolicy.FIRST_FEASIBLE) {
+            limitedTerminationConfig.setBestScoreLimit(FEASIBLE_SCORE_LIMIT);
+        }
+        return limitedTerminationConfig;
+    }
+
+    public SolverConfig buildSolverConfig(Algorithm algorithm) {
+        SolverConfig solverConfig = new SolverConfig(baseSolverConfig);
+        ConstructionHeuristicPhaseConfig constructionHeuristicPhaseConfig = new ConstructionHeuristicPhaseConfig();
+        constructionHeuristicPhaseConfig.setConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT);
+        LocalSearchPhaseConfig localSearchPhaseConfig = algorithm.buildLocalSearchPhaseConfig();
+        // The default change and swap moves, optionally with swaps limited to shifts that are close in time.
+        SwapMoveSelectorConfig swapMoveSelectorConfig = new SwapMoveSelectorConfig();
+        if (timeLocalSwaps) {
+            swapMoveSelectorConfig.setFilterClass(TimeLocalSwapMoveFilter.class);
+        }
+        localSearchPhaseConfig.setMoveSelectorConfig(new UnionMoveSelectorConfig().withMoveSelectors(
+                new ChangeMoveSelectorConfig(),
+                swapMoveSelectorConfig));
+        solverConfig.setPhaseConfigList(List.of(constructionHeuristicPhaseConfig, localSearchPhaseConfig));
+        return solverConfig;
+    }
+
+    private SolverManager<EmployeeSchedule, String> buildSolverManager(Algorithm algorithm) {
+        SolverFactory<EmployeeSchedule> solverFactory = SolverFactory.create(buildSolverConfig(algorithm));
+        return SolverManager.create(solverFactory, buildSolverManagerConfig());
+    }
+
+    @PreDestroy
+    void close() {
+        algorithmToSolverManager.values().forEach(SolverManager::close);
+        algorithmToSolverManager.clear();
+        jobIdToSolverManager.clear();
+    }
+}
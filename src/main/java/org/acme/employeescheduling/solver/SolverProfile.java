@@ -0,0 +1,104 @@
+package org.acme.employeescheduling.solver;
+
+import java.time.Duration;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * The algorithm and time limits for a problem of a given size, picked by {@link #select(EmployeeSchedule)}
+ * when a job is submitted with {@code algorithm=AUTO}.
+ * <p>
+ * Derived from benchmarks of the demo datasets (POST /benchmark with a 5s unimproved limit):
+ * every algorithm found its best score in under 0.5s up to LARGE, so the unimproved limit is what decides
+ * how long those jobs take; on HUGE, tabu search ended ahead of the others.
+ */
+public enum SolverProfile {
+    SMALL(500L, Algorithm.LATE_ACCEPTANCE, Duration.ofSeconds(5), Duration.ofMillis(500)),
+    MEDIUM(2_000L, Algorithm.LATE_ACCEPTANCE, Duration.ofSeconds(10), Duration.ofSeconds(1)),
+    LARGE(10_000L, Algorithm.LATE_ACCEPTANCE, Duration.ofSeconds(30), Duration.ofSeconds(3)),
+    HUGE(Long.MAX_VALUE, Algorithm.TABU_SEARCH, Duration.ofMinutes(5), Duration.ofSeconds(15));
+
+    /**
+     * The {@code algorithm} query parameter value that selects a profile by problem size.
+     */
+    public static final String AUTO = "AUTO";
+
+    // Above this share of the employees' weekly hours, the problem is tight and gets the next larger profile.
+    private static final double TIGHT_UTILIZATION = 0.9;
+    // Unless its scale is in the lower part of its profile, where even a tight problem is solved quickly.
+    private static final double TIGHT_MIN_SCALE_SHARE = 0.5;
+
+    private final long maxScale;
+    private final Algorithm algorithm;
+    private final Duration spentLimit;
+    private final Duration unimprovedSpentLimit;
+
+    SolverProfile(long maxScale, Algorithm algorithm, Duration spentLimit, Duration unimprovedSpentLimit) {
+        this.maxScale = maxScale;
+        this.algorithm = algorithm;
+        this.spentLimit = spentLimit;
+        this.unimprovedSpentLimit = unimprovedSpentLimit;
+    }
+
+    public static boolean isAuto(String algorithm) {
+        return AUTO.equalsIgnoreCase(algorithm);
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public SolverConfigOverride<EmployeeSchedule> buildConfigOverride() {
+        return new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(new TerminationConfig()
+                .withSpentLimit(spentLimit)
+                .withUnimprovedSpentLimit(unimprovedSpentLimit));
+    }
+
+    /**
+     * The scale is the number of shifts times the number of employees, the number of possible assignments.
+     * A problem whose shifts take up most of the employees' weekly hours over its horizon gets the next profile,
+     * because it takes longer to find a feasible solution, unless it is in the lower half of its profile's scale:
+     * the SMALL demo data is over-subscribed, but still solved in well under a second.
+     */
+    public static SolverProfile select(EmployeeSchedule problem) {
+        long scale = (long) problem.getShifts().size() * problem.getEmployees().size();
+        SolverProfile[] profiles = values();
+        int index = 0;
+        while (scale > profiles[index].maxScale) {
+            index++;
+        }
+        if (index < profiles.length - 1 && scale > profiles[index].maxScale * TIGHT_MIN_SCALE_SHARE
+                && getUtilization(problem) > TIGHT_UTILIZATION) {
+            index++;
+        }
+        return profiles[index];
+    }
+
+    /**
+     * @return the shift minutes divided by the employees' maximum working minutes over the weeks of the horizon
+     */
+    static double getUtilization(EmployeeSchedule problem) {
+        if (problem.getShifts().isEmpty()) {
+            return 0.0;
+        }
+        long minWeek = Long.MAX_VALUE;
+        long maxWeek = Long.MIN_VALUE;
+        long shiftMinutes = 0L;
+        for (Shift shift : problem.getShifts()) {
+            minWeek = Math.min(minWeek, shift.getStartEpochWeek());
+            maxWeek = Math.max(maxWeek, shift.getStartEpochWeek());
+            shiftMinutes += shift.getDurationInMinutes();
+        }
+        long weeklyMinutes = 0L;
+        for (Employee employee : problem.getEmployees()) {
+            weeklyMinutes += employee.getMaxWorkingHoursPerWeek() * 60L;
+        }
+        long capacityMinutes = weeklyMinutes * (maxWeek - minWeek + 1);
+        return capacityMinutes == 0L ? Double.POSITIVE_INFINITY : (double) shiftMinutes / capacityMinutes;
+    }
+}
@@ -0,0 +1,23 @@
+package org.acme.employeescheduling.solver;
+
+/**
+ * When a job stops solving. Every policy also stops at the job's spent limit.
+ */
+public enum TerminationPolicy {
+    /**
+     * The configured time limits, or those of the warm start or the AUTO profile.
+     */
+    DEFAULT,
+    /**
+     * Stops at the first feasible solution.
+     */
+    FIRST_FEASIBLE,
+    /**
+     * Keeps solving for a fixed time after the first feasible solution.
+     */
+    FEASIBLE_THEN_SPENT,
+    /**
+     * Keeps solving until it is feasible, then until the score has not improved for a while.
+     */
+    FEASIBLE_THEN_UNIMPROVED
+}
@@ -0,0 +1,28 @@
+package org.acme.employeescheduling.solver;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.common.decorator.SelectionFilter;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.SwapMove;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Only lets swap moves through between shifts that start at most a week apart.
+ * Swapping the employees of two shifts leaves every employee's shift count as it is,
+ * so a swap can only improve the day- and week-local constraints, and only when the shifts are close in time.
+ * Nearby selection would do this by distance, but it is not available in the community edition.
+ * <p>
+ * Only used if {@code employee-scheduling.time-local-swaps.enabled} is on.
+ */
+public class TimeLocalSwapMoveFilter implements SelectionFilter<EmployeeSchedule, SwapMove<EmployeeSchedule>> {
+
+    static final long MAX_DISTANCE_IN_DAYS = 7L;
+
+    @Override
+    public boolean accept(ScoreDirector<EmployeeSchedule> scoreDirector, SwapMove<EmployeeSchedule> move) {
+        Shift leftShift = (Shift) move.getLeftEntity();
+        Shift rightShift = (Shift) move.getRightEntity();
+        return Math.abs(leftShift.getStartEpochDay() - rightShift.getStartEpochDay()) <= MAX_DISTANCE_IN_DAYS;
+    }
+}
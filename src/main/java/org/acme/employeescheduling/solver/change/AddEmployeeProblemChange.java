@@ -0,0 +1,25 @@
+package org.acme.employeescheduling.solver.change;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public record AddEmployeeProblemChange(Employee employee) implements ProblemChange<EmployeeSchedule> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddEmployeeProblemChange.class);
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        if (ProblemChanges.findEmployee(schedule, employee.getName()) != null) {
+            // Checked before submitting, but a concurrent change can still have added it.
+            LOGGER.warn("Ignored adding employee ({}), because it already exists.", employee.getName());
+            return;
+        }
+        problemChangeDirector.addProblemFact(employee, schedule.getEmployees()::add);
+        ProblemChanges.updateAvailableEmployees(schedule, problemChangeDirector);
+    }
+}
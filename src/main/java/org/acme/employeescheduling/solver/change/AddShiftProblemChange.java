@@ -0,0 +1,37 @@
+package org.acme.employeescheduling.solver.change;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds a shift. If it already has an employee, that employee must exist in the schedule, or the shift is added
+ * unassigned and unpinned. Unless it is pinned, the solver is free to reassign it.
+ */
+public record AddShiftProblemChange(Shift shift) implements ProblemChange<EmployeeSchedule> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddShiftProblemChange.class);
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        if (ProblemChanges.findShift(schedule, shift.getId()) != null) {
+            // Checked before submitting, but a concurrent change can still have added it.
+            LOGGER.warn("Ignored adding shift ({}), because it already exists.", shift.getId());
+            return;
+        }
+        if (shift.getEmployee() != null) {
+            shift.setEmployee(problemChangeDirector.lookUpWorkingObject(shift.getEmployee()).orElse(null));
+        }
+        if (shift.getEmployee() == null && shift.isPinned()) {
+            // The employee was removed since the shift was submitted, and an unassigned shift can't be pinned.
+            LOGGER.warn("Unpinned shift ({}), because its employee no longer exists.", shift.getId());
+            shift.setPinned(false);
+        }
+        shift.updateAvailableEmployees(schedule.getEmployees());
+        problemChangeDirector.addEntity(shift, schedule.getShifts()::add);
+    }
+}
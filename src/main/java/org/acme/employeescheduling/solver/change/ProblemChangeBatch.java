@@ -0,0 +1,22 @@
+package org.acme.employeescheduling.solver.change;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+
+/**
+ * Applies several changes, in order, as one, so the solver restarts its phases only once for all of them.
+ */
+public record ProblemChangeBatch(List<ProblemChange<EmployeeSchedule>> problemChanges)
+        implements ProblemChange<EmployeeSchedule> {
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        for (ProblemChange<EmployeeSchedule> problemChange : problemChanges) {
+            problemChange.doChange(schedule, problemChangeDirector);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.acme.employeescheduling.solver.change;
+
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+public final class ProblemChanges {
+
+    public static Shift findShift(EmployeeSchedule schedule, String shiftId) {
+        for (Shift shift : schedule.getShifts()) {
+            if (Objects.equals(shift.getId(), shiftId)) {
+                return shift;
+            }
+        }
+        return null;
+    }
+
+    public static Employee findEmployee(EmployeeSchedule schedule, String employeeName) {
+        for (Employee employee : schedule.getEmployees()) {
+            if (Objects.equals(employee.getName(), employeeName)) {
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Call after changing the employees or their unavailable dates, so every shift's value range follows.
+     */
+    public static void updateAvailableEmployees(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        for (Shift shift : schedule.getShifts()) {
+            problemChangeDirector.changeProblemProperty(shift,
+                    workingShift -> workingShift.updateAvailableEmployees(schedule.getEmployees()));
+        }
+    }
+
+    private ProblemChanges() {
+    }
+}
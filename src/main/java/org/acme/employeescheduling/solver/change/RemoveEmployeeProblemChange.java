@@ -0,0 +1,34 @@
+package org.acme.employeescheduling.solver.change;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Removes an employee. Their shifts become unassigned and unpinned,
+ * so the solver's construction heuristic assigns them again.
+ */
+public record RemoveEmployeeProblemChange(String employeeName) implements ProblemChange<EmployeeSchedule> {
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        Employee employee = ProblemChanges.findEmployee(schedule, employeeName);
+        if (employee == null) {
+            return;
+        }
+        for (Shift shift : schedule.getShifts()) {
+            if (shift.getEmployee() == employee) {
+                if (shift.isPinned()) {
+                    // A pinned shift can't be unassigned, nor assigned again.
+                    problemChangeDirector.changeProblemProperty(shift, workingShift -> workingShift.setPinned(false));
+                }
+                problemChangeDirector.changeVariable(shift, "employee", workingShift -> workingShift.setEmployee(null));
+            }
+        }
+        problemChangeDirector.removeProblemFact(employee, schedule.getEmployees()::remove);
+        ProblemChanges.updateAvailableEmployees(schedule, problemChangeDirector);
+    }
+}
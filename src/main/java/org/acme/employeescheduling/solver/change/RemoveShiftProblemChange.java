@@ -0,0 +1,18 @@
+package org.acme.employeescheduling.solver.change;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+public record RemoveShiftProblemChange(String shiftId) implements ProblemChange<EmployeeSchedule> {
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        Shift shift = ProblemChanges.findShift(schedule, shiftId);
+        if (shift != null) {
+            problemChangeDirector.removeEntity(shift, schedule.getShifts()::remove);
+        }
+    }
+}
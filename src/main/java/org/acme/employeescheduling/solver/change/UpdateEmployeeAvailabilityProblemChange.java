@@ -0,0 +1,49 @@
+package org.acme.employeescheduling.solver.change;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+
+/**
+ * Replaces the unavailable dates and preferred holidays of an employee. A null set is left as it is.
+ */
+public record UpdateEmployeeAvailabilityProblemChange(String employeeName, Set<LocalDate> unavailableDates,
+        Set<LocalDate> preferredHolidays) implements ProblemChange<EmployeeSchedule> {
+
+    @Override
+    public void doChange(EmployeeSchedule schedule, ProblemChangeDirector problemChangeDirector) {
+        Employee employee = ProblemChanges.findEmployee(schedule, employeeName);
+        if (employee == null) {
+            return;
+        }
+        // The solver's best solutions share this employee, so replace the sets instead of modifying them.
+        problemChangeDirector.changeProblemProperty(employee, workingEmployee -> {
+            if (unavailableDates != null) {
+                workingEmployee.setUnavailableDates(new LinkedHashSet<>(unavailableDates));
+            }
+            if (preferredHolidays != null) {
+                workingEmployee.setPreferredHolidays(new LinkedHashSet<>(preferredHolidays));
+            }
+        });
+        if (unavailableDates != null) {
+            // Also re-inserts every shift, so the constraints see the new dates.
+            ProblemChanges.updateAvailableEmployees(schedule, problemChangeDirector);
+        } else if (preferredHolidays != null) {
+            // The constraints read the holidays through the shift, not through an Employee stream,
+            // so the employee's shifts must be re-inserted for the score to follow.
+            for (Shift shift : schedule.getShifts()) {
+                if (shift.getEmployee() == employee) {
+                    problemChangeDirector.changeProblemProperty(shift, workingShift -> {
+                    });
+                }
+            }
+        }
+    }
+}
@@ -1,4 +1,4 @@
-let autoRefreshIntervalId = null;
+let scheduleEventSource = null;
 const zoomMin = 2 * 1000 * 60 * 60 * 24 // 2 day in milliseconds
 const zoomMax = 4 * 7 * 1000 * 60 * 60 * 24 // 4 weeks in milliseconds
 
@@ -218,6 +218,9 @@ function renderSchedule(schedule) {
             .append($(`<h5 class="card-title mb-2"/>`).append(shiftTitle)) // Use shift title
             .append($('<div/>')
                 .append($(`<span class="badge me-1 mt-1" style="background-color:${skillColor}">${shiftStartFormatted}</span>`))); // Use formatted start time
+        if (shift.pinned) {
+            byEmployeeShiftElement.find('div').append($(`<span class="badge me-1 mt-1 text-bg-secondary">Pinned</span>`));
+        }
 
         const shiftColor = getShiftColor(shift, shift.employee);
 
@@ -263,7 +266,11 @@ function analyze() {
         scoreAnalysisModalContent.text("No score to analyze yet, please first press the 'solve' button.");
     } else {
         $('#scoreAnalysisScoreLabel').text(`(${loadedSchedule.score})`);
-        $.put("/schedules/analyze", JSON.stringify(loadedSchedule), function (scoreAnalysis) {
+        // A solved schedule is analyzed on the server, which caches the analysis until the next best solution.
+        const analysisRequest = scheduleId === null
+            ? $.put("/schedules/analyze?summary=true", JSON.stringify(loadedSchedule))
+            : $.getJSON(`/schedules/${scheduleId}/analysis?summary=true`);
+        analysisRequest.done(function (scoreAnalysis) {
             let constraints = scoreAnalysis.constraints;
             constraints.sort((a, b) => {
                 let aComponents = getScoreComponents(a.score), bComponents = getScoreComponents(b.score);
@@ -309,13 +316,15 @@ function analyze() {
             const analysisTBody = $(`<tbody/>`)
             $.each(scoreAnalysis.constraints, (index, constraintAnalysis) => {
                 let icon = constraintAnalysis.type == "hard" && constraintAnalysis.implicitScore < 0 ? '<span class="fas fa-exclamation-triangle" style="color: red"></span>' : '';
-                if (!icon) icon = constraintAnalysis.matches.length == 0 ? '<span class="fas fa-check-circle" style="color: green"></span>' : '';
+                // A summary has the match count instead of the matches.
+                const matchCount = constraintAnalysis.matches != null ? constraintAnalysis.matches.length : constraintAnalysis.matchCount;
+                if (!icon) icon = matchCount == 0 ? '<span class="fas fa-check-circle" style="color: green"></span>' : '';
 
                 let row = $(`<tr/>`);
                 row.append($(`<td/>`).html(icon))
                     .append($(`<td/>`).text(constraintAnalysis.name).css({textAlign: 'left'}))
                     .append($(`<td/>`).text(constraintAnalysis.type))
-                    .append($(`<td/>`).html(`<b>${constraintAnalysis.matches.length}</b>`))
+                    .append($(`<td/>`).html(`<b>${matchCount}</b>`))
                     .append($(`<td/>`).text(constraintAnalysis.weight))
                     .append($(`<td/>`).text(constraintAnalysis.implicitScore));
                 analysisTBody.append(row);
@@ -325,7 +334,7 @@ function analyze() {
             scoreAnalysisModalContent.append(analysisTable);
         }).fail(function (xhr, ajaxOptions, thrownError) {
             showError("Analyze failed.", xhr);
-        }, "text");
+        });
     }
 }
 
@@ -343,33 +352,38 @@ function refreshSolvingButtons(solving) {
     if (solving) {
         $("#solveButton").hide();
         $("#stopSolvingButton").show();
-        if (autoRefreshIntervalId == null) {
-            autoRefreshIntervalId = setInterval(refreshSchedule, 2000);
+        if (scheduleEventSource == null) {
+            openScheduleEventSource();
         }
     } else {
         $("#solveButton").show();
         $("#stopSolvingButton").hide();
-        if (autoRefreshIntervalId != null) {
-            clearInterval(autoRefreshIntervalId);
-            autoRefreshIntervalId = null;
-        }
+        closeScheduleEventSource();
     }
 }
 
-function refreshSolvingButtons(solving) {
-    if (solving) {
-        $("#solveButton").hide();
-        $("#stopSolvingButton").show();
-        if (autoRefreshIntervalId == null) {
-            autoRefreshIntervalId = setInterval(refreshSchedule, 2000);
-        }
-    } else {
-        $("#solveButton").show();
-        $("#stopSolvingButton").hide();
-        if (autoRefreshIntervalId != null) {
-            clearInterval(autoRefreshIntervalId);
-            autoRefreshIntervalId = null;
-        }
+function openScheduleEventSource() {
+    // The server pushes every new best solution, instead of this page polling for it.
+    scheduleEventSource = new EventSource(`/schedules/${scheduleId}/events`);
+    scheduleEventSource.addEventListener("bestSolution", function (event) {
+        loadedSchedule = JSON.parse(event.data);
+        renderSchedule(loadedSchedule);
+    });
+    scheduleEventSource.addEventListener("finished", function () {
+        closeScheduleEventSource();
+        refreshSchedule();
+    });
+    scheduleEventSource.addEventListener("failed", function () {
+        // Getting the schedule shows the error.
+        closeScheduleEventSource();
+        refreshSchedule();
+    });
+}
+
+function closeScheduleEventSource() {
+    if (scheduleEventSource != null) {
+        scheduleEventSource.close();
+        scheduleEventSource = null;
     }
 }
 
@@ -430,9 +444,22 @@ function benchmark() {
     $("#benchmarkButton").hide();
     $("#waitingBenchmarkButton").show();
 
-    $.post("benchmark", function (data) {
-        $("#benchmarkButton").show();
-        $("#waitingBenchmarkButton").hide();
+    $.post("benchmark", JSON.stringify({}), function (benchmarkId) {
+        // The benchmark runs in the background, so poll until it is no longer queued or running.
+        const benchmarkIntervalId = setInterval(function () {
+            $.getJSON(`/benchmark/${benchmarkId}/status`, function (progress) {
+                if (progress.status !== "QUEUED" && progress.status !== "RUNNING") {
+                    clearInterval(benchmarkIntervalId);
+                    $("#benchmarkButton").show();
+                    $("#waitingBenchmarkButton").hide();
+                }
+            }).fail(function (xhr, ajaxOptions, thrownError) {
+                showError("Getting the benchmark status failed.", xhr);
+                clearInterval(benchmarkIntervalId);
+                $("#benchmarkButton").show();
+                $("#waitingBenchmarkButton").hide();
+            });
+        }, 5000);
         }).fail(function (xhr, ajaxOptions, thrownError) {
           showError("Start benchmarking failed.", xhr);
           $("#benchmarkButton").show();
@@ -0,0 +1,71 @@
+package org.acme.employeescheduling.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ShiftTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 1, 6);
+
+    private static Employee employee(String name, LocalDate... unavailableDates) {
+        return new Employee(name, "Specialist", Set.of(unavailableDates), new HashSet<>(), 40);
+    }
+
+    @Test
+    void isAvailableChecksEveryDayOfTheShift() {
+        Shift shift = new Shift("1", DAY_1.atTime(22, 0), DAY_1.plusDays(2).atTime(6, 0), "Specialist", null);
+
+        assertThat(shift.isAvailable(employee("Ann"))).isTrue();
+        assertThat(shift.isAvailable(employee("Ann", DAY_1))).isFalse();
+        assertThat(shift.isAvailable(employee("Ann", DAY_1.plusDays(1)))).isFalse();
+        assertThat(shift.isAvailable(employee("Ann", DAY_1.plusDays(2)))).isFalse();
+        assertThat(shift.isAvailable(employee("Ann", DAY_1.plusDays(3)))).isTrue();
+    }
+
+    @Test
+    void isAvailableOnTheDayAShiftEndsAtMidnight() {
+        Shift shift = new Shift("1", DAY_1.atTime(16, 0), DAY_1.plusDays(1).atStartOfDay(), "Specialist", null);
+
+        assertThat(shift.isAvailable(employee("Ann", DAY_1.plusDays(1)))).isTrue();
+    }
+
+    @Test
+    void unavailableDurationCountsTheMinutesOnEveryUnavailableDay() {
+        Shift shift = new Shift("1", DAY_1.atTime(22, 0), DAY_1.plusDays(2).atTime(6, 0), "Specialist", null);
+
+        assertThat(shift.getUnavailableDurationInMinutes(employee("Ann", DAY_1))).isEqualTo(2 * 60);
+        assertThat(shift.getUnavailableDurationInMinutes(employee("Ann", DAY_1.plusDays(1)))).isEqualTo(24 * 60);
+        assertThat(shift.getUnavailableDurationInMinutes(employee("Ann", DAY_1, DAY_1.plusDays(2))))
+                .isEqualTo(8 * 60);
+        assertThat(shift.getUnavailableDurationInMinutes(employee("Ann", DAY_1.plusDays(3)))).isZero();
+    }
+
+    @Test
+    void valueRangeExcludesUnavailableEmployees() {
+        Employee ann = employee("Ann");
+        Employee beth = employee("Beth", DAY_1.plusDays(1));
+        Shift shift = new Shift("1", DAY_1.atTime(22, 0), DAY_1.plusDays(2).atTime(6, 0), "Specialist", null);
+
+        shift.updateAvailableEmployees(List.of(ann, beth));
+
+        assertThat(shift.getAvailableEmployees()).containsExactly(ann);
+    }
+
+    @Test
+    void valueRangeKeepsEveryEmployeeIfNoneIsAvailable() {
+        Employee ann = employee("Ann", DAY_1);
+        Employee beth = employee("Beth", DAY_1);
+        Shift shift = new Shift("1", DAY_1.atTime(10, 0), DAY_1.atTime(18, 0), "Specialist", null);
+
+        shift.updateAvailableEmployees(List.of(ann, beth));
+
+        assertThat(shift.getAvailableEmployees()).containsExactly(ann, beth);
+    }
+}
@@ -0,0 +1,142 @@
+package org.acme.employeescheduling.rest.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.rest.job.InMemoryJobStore;
+import org.acme.employeescheduling.rest.job.Job;
+import org.junit.jupiter.api.Test;
+
+class BatchServiceTest {
+
+    private final InMemoryJobStore jobStore = new InMemoryJobStore(100, Duration.ofHours(1));
+    // The job IDs are the item names, in the order their jobs started.
+    private final List<String> startedJobIds = new ArrayList<>();
+    private final List<String> terminatedJobIds = new ArrayList<>();
+
+    private static List<BatchItem> items(String... names) {
+        List<BatchItem> items = new ArrayList<>();
+        for (String name : names) {
+            items.add(new BatchItem(name, null, false, null, null, null, new EmployeeSchedule()));
+        }
+        return items;
+    }
+
+    private String submit(BatchService batchService, List<BatchItem> items) {
+        return submit(batchService, items, item -> {
+            startedJobIds.add(item.name());
+            return item.name();
+        });
+    }
+
+    private String submit(BatchService batchService, List<BatchItem> items, Function<BatchItem, String> launcher) {
+        return batchService.submit(items, launcher, terminatedJobIds::add);
+    }
+
+    @Test
+    void batchesTakeTurnsForTheSlots() {
+        BatchService batchService = new BatchService(jobStore, "1", Duration.ofHours(1));
+        submit(batchService, items("a1", "a2", "a3"));
+        submit(batchService, items("b1", "b2"));
+
+        for (int i = 0; i < 5; i++) {
+            batchService.onJobFinished(startedJobIds.get(i), null);
+        }
+
+        assertThat(startedJobIds).containsExactly("a1", "a2", "b1", "a3", "b2");
+    }
+
+    @Test
+    void reportsCompletedAndFailedItems() {
+        BatchService batchService = new BatchService(jobStore, "2", Duration.ofHours(1));
+        String batchId = submit(batchService, items("completed", "failed", "notStarted"), item -> {
+            if (item.name().equals("notStarted")) {
+                throw new IllegalArgumentException("Invalid schedule.");
+            }
+            return item.name();
+        });
+        EmployeeSchedule solution = new EmployeeSchedule();
+        solution.setScore(HardSoftLongScore.of(0, -10));
+        solution.setTimeToFeasibleMillis(5L);
+        jobStore.put("completed", Job.ofSchedule(solution));
+
+        batchService.onJobFinished("completed", null);
+        BatchReport report = batchService.getReport(batchId);
+        assertThat(report.progress().finished()).isFalse();
+        batchService.onJobFinished("failed", new IllegalStateException("Solver failed."));
+        report = batchService.getReport(batchId);
+
+        assertThat(report.progress()).isEqualTo(new BatchProgress(batchId, true, 0, 0, 1, 2, 0, 3, 1));
+        assertThat(report.items()).containsExactly(
+                new BatchItemResult(0, "completed", "completed", BatchItemStatus.COMPLETED,
+                        HardSoftLongScore.of(0, -10), 5L, null),
+                new BatchItemResult(1, "failed", "failed", BatchItemStatus.FAILED, null, null, "Solver failed."),
+                new BatchItemResult(2, "notStarted", null, BatchItemStatus.FAILED, null, null, "Invalid schedule."));
+    }
+
+    @Test
+    void startsJobsWithoutHoldingTheLock() {
+        BatchService batchService = new BatchService(jobStore, "1", Duration.ofHours(1));
+        List<Boolean> holdsLock = new ArrayList<>();
+
+        submit(batchService, items("a1"), item -> {
+            holdsLock.add(Thread.holdsLock(batchService));
+            return item.name();
+        });
+
+        assertThat(holdsLock).containsExactly(false);
+    }
+
+    @Test
+    void countsAJobThatFinishesBeforeItsLauncherReturns() {
+        BatchService batchService = new BatchService(jobStore, "1", Duration.ofHours(1));
+
+        String batchId = submit(batchService, items("a1", "a2"), item -> {
+            startedJobIds.add(item.name());
+            if (item.name().equals("a1")) {
+                batchService.onJobFinished("a1", null);
+            }
+            return item.name();
+        });
+
+        assertThat(startedJobIds).containsExactly("a1", "a2");
+        assertThat(batchService.getReport(batchId).items()).extracting(BatchItemResult::status)
+                .containsExactly(BatchItemStatus.COMPLETED, BatchItemStatus.SOLVING);
+    }
+
+    @Test
+    void terminatesAJobStartedWhileItsBatchIsCancelled() {
+        BatchService batchService = new BatchService(jobStore, "1", Duration.ofHours(1));
+        String[] batchId = new String[1];
+
+        batchId[0] = submit(batchService, items("a1", "a2"), item -> {
+            if (batchId[0] == null) {
+                // The first item starts within submit, before the batch ID is returned.
+                return item.name();
+            }
+            batchService.cancel(batchId[0]);
+            return item.name();
+        });
+        batchService.onJobFinished("a1", null);
+
+        assertThat(terminatedJobIds).containsExactly("a2");
+    }
+
+    @Test
+    void evictsFinishedBatchesAfterTheirTimeToLive() {
+        BatchService batchService = new BatchService(jobStore, "1", Duration.ZERO);
+        String batchId = submit(batchService, items("a1"));
+
+        assertThat(batchService.getReport(batchId)).isNotNull();
+        batchService.onJobFinished("a1", null);
+
+        assertThat(batchService.getReport(batchId)).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.domain.ShiftAssignment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskJobStoreTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    @TempDir
+    Path directory;
+
+    private DiskJobStore jobStore(int maxFinishedJobs, Duration finishedJobTimeToLive) {
+        return new DiskJobStore(directory.toString(), Duration.ZERO, maxFinishedJobs, finishedJobTimeToLive);
+    }
+
+    private static EmployeeSchedule schedule(String... employeeNames) {
+        List<Employee> employees = List.of(new Employee("Ann", "Specialist", Set.of(), Set.of(), 40),
+                new Employee("Beth", "Assistant", Set.of(), Set.of(), 40));
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < employeeNames.length; i++) {
+            String employeeName = employeeNames[i];
+            Employee employee = employees.stream()
+                    .filter(candidate -> candidate.getName().equals(employeeName))
+                    .findFirst().orElse(null);
+            shifts.add(new Shift(String.valueOf(i), DAY_START_TIME.plusDays(i), DAY_START_TIME.plusDays(i).plusHours(8),
+                    "Specialist", employee));
+        }
+        return new EmployeeSchedule(employees, shifts);
+    }
+
+    @Test
+    void keepsFinishedScheduleAndChangedShiftsAcrossRestart() {
+        DiskJobStore jobStore = jobStore(10, Duration.ofHours(1));
+        Job job0 = Job.ofSchedule(schedule(null, null));
+        Job job1 = Job.ofNextSchedule(job0, schedule("Ann", null));
+        Job job2 = Job.ofNextSchedule(job1, schedule("Ann", "Beth"));
+        jobStore.put("1", job0);
+        jobStore.put("1", job1);
+        jobStore.put("1", job2);
+        jobStore.markFinished("1");
+        jobStore.close();
+
+        DiskJobStore restartedJobStore = jobStore(10, Duration.ofHours(1));
+        Job job = restartedJobStore.get("1");
+        assertThat(job.schedule().getVersion()).isEqualTo(2L);
+        assertThat(job.schedule().getShifts().get(1).getEmployee().getName()).isEqualTo("Beth");
+        assertThat(job.getShiftsChangedSince(1L)).containsExactly(new ShiftAssignment("1", "Beth"));
+        assertThat(job.shiftSetChangeVersion()).isEqualTo(job2.shiftSetChangeVersion());
+        assertThat(restartedJobStore.getStatistics()).isEqualTo(new JobStoreStatistics(0, 1, 0));
+        restartedJobStore.close();
+    }
+
+    @Test
+    void keepsFailureAcrossRestart() {
+        DiskJobStore jobStore = jobStore(10, Duration.ofHours(1));
+        IllegalArgumentException exception = new IllegalArgumentException("Invalid shift.",
+                new IllegalStateException("Cause."));
+        jobStore.put("1", Job.ofSchedule(schedule((String) null)));
+        jobStore.put("1", Job.ofException(exception));
+        jobStore.markFinished("1");
+        jobStore.close();
+
+        DiskJobStore restartedJobStore = jobStore(10, Duration.ofHours(1));
+        Throwable readException = restartedJobStore.get("1").exception();
+        assertThat(readException).isInstanceOf(JobFailure.class).hasMessage("Invalid shift.");
+        assertThat(((JobFailure) readException).getFailureClassName())
+                .isEqualTo(IllegalArgumentException.class.getName());
+        assertThat(readException).hasToString(IllegalArgumentException.class.getName() + ": Invalid shift.");
+        restartedJobStore.close();
+    }
+
+    @Test
+    void deletesOrphanVersionsFileWithItsJob() throws IOException {
+        Files.write(directory.resolve("1.versions"), new byte[] { 0 });
+
+        DiskJobStore jobStore = jobStore(10, Duration.ZERO);
+        assertThat(jobStore.get("1")).isNull();
+        assertThat(Files.exists(directory.resolve("1.versions"))).isFalse();
+        assertThat(jobStore.getStatistics()).isEqualTo(new JobStoreStatistics(0, 0, 1));
+        jobStore.close();
+    }
+
+    @Test
+    void deletesEldestFinishedJobOverCapacity() {
+        DiskJobStore jobStore = jobStore(1, Duration.ofHours(1));
+        jobStore.put("1", Job.ofSchedule(schedule("Ann")));
+        jobStore.put("2", Job.ofSchedule(schedule("Ann")));
+        jobStore.put("3", Job.ofSchedule(schedule("Ann")));
+        jobStore.markFinished("1");
+        jobStore.markFinished("2");
+        jobStore.close();
+
+        assertThat(jobStore.get("1")).isNull();
+        assertThat(Files.exists(directory.resolve("1.json"))).isFalse();
+        assertThat(jobStore.get("2")).isNotNull();
+        assertThat(jobStore.get("3")).isNotNull();
+        assertThat(jobStore.getStatistics()).isEqualTo(new JobStoreStatistics(1, 1, 1));
+    }
+
+    @Test
+    void deletesExpiredFinishedJobsOnRestart() {
+        DiskJobStore jobStore = jobStore(10, Duration.ofHours(1));
+        jobStore.put("1", Job.ofSchedule(schedule("Ann")));
+        jobStore.markFinished("1");
+        jobStore.close();
+
+        DiskJobStore restartedJobStore = jobStore(10, Duration.ZERO);
+        assertThat(restartedJobStore.get("1")).isNull();
+        assertThat(Files.exists(directory.resolve("1.json"))).isFalse();
+        assertThat(restartedJobStore.getStatistics()).isEqualTo(new JobStoreStatistics(0, 0, 1));
+        restartedJobStore.close();
+    }
+}
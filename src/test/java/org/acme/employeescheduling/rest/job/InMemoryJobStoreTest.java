@@ -0,0 +1,55 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+
+class InMemoryJobStoreTest {
+
+    @Test
+    void evictsEldestFinishedJobOverCapacity() {
+        InMemoryJobStore jobStore = new InMemoryJobStore(1, Duration.ofHours(1));
+        jobStore.put("1", Job.ofSchedule(new EmployeeSchedule()));
+        jobStore.put("2", Job.ofSchedule(new EmployeeSchedule()));
+        jobStore.put("3", Job.ofSchedule(new EmployeeSchedule()));
+
+        jobStore.markFinished("1");
+        jobStore.markFinished("2");
+
+        assertThat(jobStore.get("1")).isNull();
+        assertThat(jobStore.get("2")).isNotNull();
+        assertThat(jobStore.get("3")).isNotNull();
+        assertThat(jobStore.getStatistics()).isEqualTo(new JobStoreStatistics(2, 1, 1));
+    }
+
+    @Test
+    void evictsExpiredFinishedJobButNeverRunningJob() {
+        InMemoryJobStore jobStore = new InMemoryJobStore(10, Duration.ZERO);
+        jobStore.put("running", Job.ofSchedule(new EmployeeSchedule()));
+        jobStore.put("finished", Job.ofSchedule(new EmployeeSchedule()));
+
+        jobStore.markFinished("finished");
+
+        assertThat(jobStore.get("finished")).isNull();
+        assertThat(jobStore.get("running")).isNotNull();
+        assertThat(jobStore.getStatistics()).isEqualTo(new JobStoreStatistics(1, 0, 1));
+    }
+
+    @Test
+    void evictsExpiredFinishedJobOnPutButNotOnGet() throws InterruptedException {
+        InMemoryJobStore jobStore = new InMemoryJobStore(10, Duration.ofMillis(100));
+        jobStore.put("finished", Job.ofSchedule(new EmployeeSchedule()));
+        jobStore.markFinished("finished");
+        Thread.sleep(200);
+
+        assertThat(jobStore.get("finished")).isNotNull();
+
+        jobStore.put("new", Job.ofSchedule(new EmployeeSchedule()));
+
+        assertThat(jobStore.get("finished")).isNull();
+        assertThat(jobStore.get("new")).isNotNull();
+    }
+}
@@ -0,0 +1,184 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.junit.jupiter.api.Test;
+
+class JobCacheTest {
+
+    private final InMemoryJobStore jobStore = new InMemoryJobStore(100, Duration.ofHours(1));
+    private final List<String> startedJobIds = new ArrayList<>();
+
+    private String start(String jobId) {
+        startedJobIds.add(jobId);
+        jobStore.put(jobId, Job.ofSchedule(new EmployeeSchedule()));
+        return jobId;
+    }
+
+    @Test
+    void reusesTheJobOfAnIdenticalProblem() {
+        JobCache jobCache = new JobCache(jobStore, 10);
+
+        assertThat(jobCache.getOrStart("hash", () -> start("1"))).isEqualTo("1");
+        jobStore.markFinished("1");
+        assertThat(jobCache.getOrStart("hash", () -> start("2"))).isEqualTo("1");
+
+        assertThat(startedJobIds).containsExactly("1");
+        assertThat(jobCache.getStatistics()).isEqualTo(new JobCacheStatistics(1, 1L, 1L, 0L));
+    }
+
+    @Test
+    void solvesAgainAfterTheJobFailed() {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        jobCache.getOrStart("hash", () -> start("1"));
+
+        jobStore.put("1", Job.ofException(new IllegalStateException("Solver failed.")));
+
+        assertThat(jobCache.getOrStart("hash", () -> start("2"))).isEqualTo("2");
+    }
+
+    @Test
+    void solvesAgainAfterTheJobWasEvictedFromTheJobStore() {
+        JobCache jobCache = new JobCache(new InMemoryJobStore(100, Duration.ZERO) {
+            @Override
+            public Job get(String jobId) {
+                return null;
+            }
+        }, 10);
+        jobCache.getOrStart("hash", () -> "1");
+
+        assertThat(jobCache.getOrStart("hash", () -> "2")).isEqualTo("2");
+    }
+
+    @Test
+    void solvesAgainAfterAProblemChange() {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        jobCache.getOrStart("hash", () -> start("1"));
+
+        // As ScheduleSolvingService does for every problem change.
+        jobCache.evictJob("1");
+
+        assertThat(jobCache.getOrStart("hash", () -> start("2"))).isEqualTo("2");
+        assertThat(jobCache.getOrStart("hash", () -> start("3"))).isEqualTo("2");
+    }
+
+    @Test
+    void solvesAgainAfterTheJobWasTerminatedEarly() {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        jobCache.getOrStart("hash", () -> start("1"));
+        jobCache.getOrStart("otherHash", () -> start("2"));
+
+        // As ScheduleSolvingService does for DELETE /schedules/{jobId}.
+        jobCache.evictJob("1");
+        jobStore.markFinished("1");
+
+        assertThat(jobCache.getOrStart("hash", () -> start("3"))).isEqualTo("3");
+        assertThat(jobCache.getOrStart("otherHash", () -> start("4"))).isEqualTo("2");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedHash() {
+        JobCache jobCache = new JobCache(jobStore, 2);
+        jobCache.getOrStart("hash1", () -> start("1"));
+        jobCache.getOrStart("hash2", () -> start("2"));
+        jobCache.getOrStart("hash1", () -> start("unused"));
+        jobCache.getOrStart("hash3", () -> start("3"));
+
+        assertThat(jobCache.getOrStart("hash1", () -> start("4"))).isEqualTo("1");
+        assertThat(jobCache.getOrStart("hash2", () -> start("5"))).isEqualTo("5");
+        assertThat(jobCache.getStatistics().evictions()).isEqualTo(2L);
+    }
+
+    @Test
+    void looksUpTheCachedJobWithoutHoldingTheLock() {
+        List<Boolean> holdsLock = new ArrayList<>();
+        JobCache[] jobCache = new JobCache[1];
+        jobCache[0] = new JobCache(new InMemoryJobStore(100, Duration.ofHours(1)) {
+            @Override
+            public Job get(String jobId) {
+                holdsLock.add(Thread.holdsLock(jobCache[0]));
+                return super.get(jobId);
+            }
+        }, 10);
+        jobCache[0].getOrStart("hash", () -> "1");
+
+        jobCache[0].getOrStart("hash", () -> "2");
+
+        assertThat(holdsLock).containsOnly(false);
+    }
+
+    @Test
+    void startsTheJobWithoutHoldingTheLock() {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        List<Boolean> holdsLock = new ArrayList<>();
+
+        jobCache.getOrStart("hash", () -> {
+            holdsLock.add(Thread.holdsLock(jobCache));
+            return start("1");
+        });
+
+        assertThat(holdsLock).containsExactly(false);
+    }
+
+    @Test
+    void startsTheJobOfConcurrentIdenticalProblemsOnce() throws Exception {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        CountDownLatch starting = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> jobCache.getOrStart("hash", () -> {
+            starting.countDown();
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return start("1");
+        }));
+        starting.await();
+
+        // Another problem is not held up by the job that is being started.
+        assertThat(jobCache.getOrStart("otherHash", () -> start("2"))).isEqualTo("2");
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> jobCache.getOrStart("hash", () -> start("3")));
+        Thread.sleep(200L);
+        assertThat(second).isNotDone();
+        started.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("1");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("1");
+        assertThat(startedJobIds).containsExactly("2", "1");
+        assertThat(jobCache.getStatistics()).isEqualTo(new JobCacheStatistics(2, 1L, 2L, 0L));
+    }
+
+    @Test
+    void startsTheJobAgainIfAConcurrentStartFailed() throws Exception {
+        JobCache jobCache = new JobCache(jobStore, 10);
+        CountDownLatch starting = new CountDownLatch(1);
+        CountDownLatch failing = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> jobCache.getOrStart("hash", () -> {
+            starting.countDown();
+            try {
+                failing.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Start failed.");
+        }));
+        starting.await();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> jobCache.getOrStart("hash", () -> start("2")));
+        Thread.sleep(200L);
+        failing.countDown();
+
+        assertThat(first).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("2");
+        assertThat(startedJobIds).containsExactly("2");
+    }
+}
@@ -0,0 +1,68 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.domain.ShiftAssignment;
+import org.junit.jupiter.api.Test;
+
+class JobTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private static final Employee ANN = new Employee("Ann", "Specialist", Set.of(), Set.of(), 40);
+    private static final Employee BETH = new Employee("Beth", "Assistant", Set.of(), Set.of(), 40);
+
+    private static EmployeeSchedule schedule(Employee... employees) {
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < employees.length; i++) {
+            shifts.add(new Shift(String.valueOf(i), DAY_START_TIME.plusDays(i), DAY_START_TIME.plusDays(i).plusHours(8),
+                    "Specialist", employees[i]));
+        }
+        return new EmployeeSchedule(List.of(ANN, BETH), shifts);
+    }
+
+    @Test
+    void tracksShiftsChangedSinceVersion() {
+        Job job0 = Job.ofSchedule(schedule(null, null, null));
+        Job job1 = Job.ofNextSchedule(job0, schedule(ANN, BETH, null));
+        Job job2 = Job.ofNextSchedule(job1, schedule(ANN, ANN, null));
+
+        assertThat(job2.schedule().getVersion()).isEqualTo(2L);
+        assertThat(job2.getShiftsChangedSince(2L)).isEmpty();
+        assertThat(job2.getShiftsChangedSince(1L)).containsExactly(new ShiftAssignment("1", "Ann"));
+        assertThat(job2.getShiftsChangedSince(0L))
+                .containsExactly(new ShiftAssignment("0", "Ann"), new ShiftAssignment("1", "Ann"));
+        assertThat(job2.getShiftsChangedSince(-1L)).hasSize(3);
+    }
+
+    @Test
+    void treatsAddedShiftsAsChanged() {
+        Job job0 = Job.ofSchedule(schedule(ANN));
+        Job job1 = Job.ofNextSchedule(job0, schedule(ANN, BETH));
+
+        assertThat(job1.getShiftsChangedSince(0L)).containsExactly(new ShiftAssignment("1", "Beth"));
+    }
+
+    @Test
+    void tracksShiftsAddedOrRemovedSinceVersion() {
+        Job job0 = Job.ofSchedule(schedule(ANN, BETH));
+        Job job1 = Job.ofNextSchedule(job0, schedule(BETH, ANN));
+        Job job2 = Job.ofNextSchedule(job1, schedule(BETH));
+        Job job3 = Job.ofNextSchedule(job2, schedule(ANN));
+
+        assertThat(job1.isShiftSetChangedSince(0L)).isFalse();
+        assertThat(job2.isShiftSetChangedSince(1L)).isTrue();
+        assertThat(job3.isShiftSetChangedSince(1L)).isTrue();
+        assertThat(job3.isShiftSetChangedSince(2L)).isFalse();
+        // A client without any version gets every shift anyway.
+        assertThat(job3.isShiftSetChangedSince(-1L)).isFalse();
+    }
+}
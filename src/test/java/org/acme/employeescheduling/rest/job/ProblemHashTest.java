@@ -0,0 +1,75 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class ProblemHashTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private static Employee ann(LocalDate... unavailableDates) {
+        return new Employee("Ann", "Specialist", new LinkedHashSet<>(List.of(unavailableDates)), Set.of(), 40);
+    }
+
+    private static Employee beth() {
+        return new Employee("Beth", "Assistant", Set.of(), Set.of(), 40);
+    }
+
+    private static Shift shift(int day) {
+        return new Shift(String.valueOf(day), DAY_START_TIME.plusDays(day), DAY_START_TIME.plusDays(day).plusHours(8),
+                "Specialist", null);
+    }
+
+    private static EmployeeSchedule schedule(List<Employee> employees, List<Shift> shifts) {
+        return new EmployeeSchedule(new ArrayList<>(employees), new ArrayList<>(shifts));
+    }
+
+    @Test
+    void ignoresOrder() {
+        LocalDate monday = DAY_START_TIME.toLocalDate();
+        EmployeeSchedule schedule = schedule(List.of(ann(monday, monday.plusDays(1)), beth()), List.of(shift(0), shift(1)));
+        EmployeeSchedule reordered =
+                schedule(List.of(beth(), ann(monday.plusDays(1), monday)), List.of(shift(1), shift(0)));
+
+        assertThat(ProblemHash.of(reordered, "TABU_SEARCH")).isEqualTo(ProblemHash.of(schedule, "TABU_SEARCH"));
+    }
+
+    @Test
+    void ignoresScoreAndVersion() {
+        EmployeeSchedule schedule = schedule(List.of(ann(), beth()), List.of(shift(0)));
+        String hash = ProblemHash.of(schedule);
+        schedule.setScore(HardSoftLongScore.of(-1, -10));
+        schedule.setVersion(3L);
+
+        assertThat(ProblemHash.of(schedule)).isEqualTo(hash);
+    }
+
+    @Test
+    void differsOnProblemOrSettings() {
+        EmployeeSchedule schedule = schedule(List.of(ann(), beth()), List.of(shift(0)));
+        String hash = ProblemHash.of(schedule, "TABU_SEARCH");
+
+        assertThat(ProblemHash.of(schedule, "LATE_ACCEPTANCE")).isNotEqualTo(hash);
+        assertThat(ProblemHash.of(schedule(List.of(ann(DAY_START_TIME.toLocalDate()), beth()), List.of(shift(0))),
+                "TABU_SEARCH")).isNotEqualTo(hash);
+        EmployeeSchedule assigned = schedule(List.of(ann(), beth()), List.of(shift(0)));
+        assigned.getShifts().get(0).setEmployee(beth());
+        assertThat(ProblemHash.of(assigned, "TABU_SEARCH")).isNotEqualTo(hash);
+        EmployeeSchedule pinned = schedule(List.of(ann(), beth()), List.of(shift(0)));
+        pinned.getShifts().get(0).setPinned(true);
+        assertThat(ProblemHash.of(pinned, "TABU_SEARCH")).isNotEqualTo(hash);
+    }
+}
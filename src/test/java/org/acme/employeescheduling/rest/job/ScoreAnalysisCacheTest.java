@@ -0,0 +1,106 @@
+package org.acme.employeescheduling.rest.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.EmployeeSchedulingConstraintProvider;
+import org.junit.jupiter.api.Test;
+
+class ScoreAnalysisCacheTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private final ScoreAnalysisCache scoreAnalysisCache = new ScoreAnalysisCache(
+            SolutionManager.create(SolverFactory.create(new SolverConfig()
+                    .withSolutionClass(EmployeeSchedule.class)
+                    .withEntityClasses(Shift.class)
+                    .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class))), 10);
+
+    /**
+     * Ann works two overlapping shifts.
+     */
+    private static EmployeeSchedule schedule(long version) {
+        Employee ann = new Employee("Ann", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        List<Shift> shifts = new ArrayList<>();
+        shifts.add(new Shift("1", DAY_START_TIME, DAY_START_TIME.plusHours(8), "Specialist", ann));
+        shifts.add(new Shift("2", DAY_START_TIME.plusHours(4), DAY_START_TIME.plusHours(12), "Specialist", ann));
+        EmployeeSchedule schedule = new EmployeeSchedule(new ArrayList<>(List.of(ann)), shifts);
+        schedule.updateAvailableEmployees();
+        schedule.setVersion(version);
+        return schedule;
+    }
+
+    @Test
+    void reusesTheAnalysisOfAnUnchangedSchedule() {
+        EmployeeSchedule schedule = schedule(1L);
+
+        ScoreAnalysis<HardSoftLongScore> analysis =
+                scoreAnalysisCache.analyze("1", schedule, ScoreAnalysisFetchPolicy.FETCH_ALL);
+
+        assertThat(analysis.score().isFeasible()).isFalse();
+        assertThat(scoreAnalysisCache.analyze("1", schedule(1L), ScoreAnalysisFetchPolicy.FETCH_ALL))
+                .isSameAs(analysis);
+        assertThat(scoreAnalysisCache.analyze("2", schedule(1L), ScoreAnalysisFetchPolicy.FETCH_ALL))
+                .isNotSameAs(analysis);
+    }
+
+    @Test
+    void analyzesAgainForANewVersion() {
+        ScoreAnalysis<HardSoftLongScore> analysis =
+                scoreAnalysisCache.analyze("1", schedule(1L), ScoreAnalysisFetchPolicy.FETCH_ALL);
+        EmployeeSchedule newSchedule = schedule(2L);
+        newSchedule.getShifts().get(1).setEmployee(null);
+
+        ScoreAnalysis<HardSoftLongScore> newAnalysis =
+                scoreAnalysisCache.analyze("1", newSchedule, ScoreAnalysisFetchPolicy.FETCH_ALL);
+
+        assertThat(newAnalysis).isNotSameAs(analysis);
+        assertThat(newAnalysis.score()).isNotEqualTo(analysis.score());
+    }
+
+    @Test
+    void cachesTheSummaryApartFromTheFullAnalysis() {
+        EmployeeSchedule schedule = schedule(1L);
+
+        ScoreAnalysis<HardSoftLongScore> summary =
+                scoreAnalysisCache.analyze("1", schedule, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT);
+        ScoreAnalysis<HardSoftLongScore> analysis =
+                scoreAnalysisCache.analyze("1", schedule, ScoreAnalysisFetchPolicy.FETCH_ALL);
+
+        assertThat(summary).isNotSameAs(analysis);
+        assertThat(summary.score()).isEqualTo(analysis.score());
+        assertThat(summary.constraintMap().values()).allSatisfy(constraintAnalysis -> {
+            assertThat(constraintAnalysis.matches()).isNull();
+            assertThat(constraintAnalysis.matchCount()).isEqualTo(
+                    analysis.getConstraintAnalysis(constraintAnalysis.constraintRef()).matchCount());
+        });
+        assertThat(analysis.constraintMap().values()).anySatisfy(constraintAnalysis ->
+                assertThat(constraintAnalysis.matches()).isNotEmpty());
+        assertThat(scoreAnalysisCache.analyze("1", schedule, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT))
+                .isSameAs(summary);
+    }
+
+    @Test
+    void leavesTheStoredScheduleUnchanged() {
+        EmployeeSchedule schedule = schedule(1L);
+
+        scoreAnalysisCache.analyze("1", schedule, ScoreAnalysisFetchPolicy.FETCH_ALL);
+
+        assertThat(schedule.getScore()).isNull();
+    }
+}
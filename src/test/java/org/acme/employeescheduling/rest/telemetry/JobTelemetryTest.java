@@ -0,0 +1,106 @@
+package org.acme.employeescheduling.rest.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JobTelemetryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void followsAJobFromSubmissionToFinish() {
+        JobTelemetry jobTelemetry = new JobTelemetry(meterRegistry, 10, 10);
+
+        jobTelemetry.onSubmitted("1", "TABU_SEARCH", System.nanoTime());
+        assertThat(gauge("employee.scheduling.jobs.queued")).isEqualTo(1.0);
+        jobTelemetry.onStarted("1");
+        assertThat(gauge("employee.scheduling.jobs.queued")).isEqualTo(0.0);
+        assertThat(gauge("employee.scheduling.jobs.active")).isEqualTo(1.0);
+        jobTelemetry.onBestSolution("1", HardSoftLongScore.of(-1, 0), 10L);
+        jobTelemetry.onBestSolution("1", HardSoftLongScore.of(0, -5), 20L);
+        jobTelemetry.onBestSolution("1", HardSoftLongScore.of(0, -2), 30L);
+        jobTelemetry.onFinished("1", null);
+
+        assertThat(gauge("employee.scheduling.jobs.active")).isEqualTo(0.0);
+        assertThat(meterRegistry.get("employee.scheduling.best.solutions").tag("algorithm", "TABU_SEARCH")
+                .counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("employee.scheduling.time.to.feasible").tag("algorithm", "TABU_SEARCH")
+                .timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("employee.scheduling.solve.duration")
+                .tags("algorithm", "TABU_SEARCH", "outcome", "completed").timer().count()).isEqualTo(1L);
+        JobStats stats = jobTelemetry.getStats("1");
+        assertThat(stats.solverStatus()).isEqualTo(SolverStatus.NOT_SOLVING);
+        assertThat(stats.improvementCount()).isEqualTo(3);
+        assertThat(stats.timeToFeasibleMillis()).isEqualTo(20L);
+        assertThat(stats.bestScore()).isEqualTo(HardSoftLongScore.of(0, -2));
+        assertThat(stats.bestScoreTimeline()).extracting(ScorePoint::elapsedMillis).containsExactly(10L, 20L, 30L);
+    }
+
+    @Test
+    void countsFailedJobsAndProblemChanges() {
+        JobTelemetry jobTelemetry = new JobTelemetry(meterRegistry, 10, 10);
+        jobTelemetry.onSubmitted("1", "AUTO", System.nanoTime());
+
+        jobTelemetry.onProblemChangeFailed("1", new IllegalStateException("Not solving."));
+        jobTelemetry.onFinished("1", new IllegalStateException("Solver failed."));
+
+        assertThat(gauge("employee.scheduling.jobs.queued")).isEqualTo(0.0);
+        assertThat(meterRegistry.get("employee.scheduling.problem.changes.failed").tag("algorithm", "AUTO")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("employee.scheduling.solve.duration")
+                .tags("algorithm", "AUTO", "outcome", "failed").timer().count()).isEqualTo(1L);
+        JobStats stats = jobTelemetry.getStats("1");
+        assertThat(stats.failedProblemChangeCount()).isEqualTo(1);
+        assertThat(stats.lastProblemChangeFailure()).isEqualTo("Not solving.");
+    }
+
+    @Test
+    void thinsTheTimelineAndEvictsTheEldestFinishedJobs() {
+        JobTelemetry jobTelemetry = new JobTelemetry(meterRegistry, 4, 1);
+        jobTelemetry.onSubmitted("1", "TABU_SEARCH", System.nanoTime());
+        jobTelemetry.onStarted("1");
+        for (int i = 0; i < 5; i++) {
+            jobTelemetry.onBestSolution("1", HardSoftLongScore.of(0, i - 10), i);
+        }
+        assertThat(jobTelemetry.getStats("1").bestScoreTimeline()).extracting(ScorePoint::elapsedMillis)
+                .containsExactly(0L, 2L, 4L);
+
+        jobTelemetry.onFinished("1", null);
+        jobTelemetry.onSubmitted("2", "TABU_SEARCH", System.nanoTime());
+        jobTelemetry.onFinished("2", null);
+
+        assertThat(jobTelemetry.getStats("1")).isNull();
+        assertThat(jobTelemetry.getStats("2")).isNotNull();
+    }
+
+    @Test
+    void tagsNoMeterPerJob() {
+        JobTelemetry jobTelemetry = new JobTelemetry(meterRegistry, 10, 10);
+        for (String jobId : List.of("1", "2", "3")) {
+            jobTelemetry.onSubmitted(jobId, "TABU_SEARCH", System.nanoTime());
+            jobTelemetry.onStarted(jobId);
+            jobTelemetry.onBestSolution(jobId, HardSoftLongScore.of(0, -1), 10L);
+            jobTelemetry.onFinished(jobId, null);
+        }
+
+        for (Meter meter : meterRegistry.getMeters()) {
+            assertThat(meter.getId().getTags())
+                    .allSatisfy(tag -> assertThat(tag.getKey()).isIn("algorithm", "outcome"));
+        }
+        // The three gauges and four meters of the algorithm, however many jobs ran.
+        assertThat(meterRegistry.getMeters()).hasSize(7);
+    }
+}
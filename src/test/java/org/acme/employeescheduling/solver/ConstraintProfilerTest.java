@@ -0,0 +1,105 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConstraintProfilerTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private final ConstraintProfiler constraintProfiler = new ConstraintProfiler(new SolverConfig()
+            .withSolutionClass(EmployeeSchedule.class)
+            .withEntityClasses(Shift.class)
+            .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class), 100, 1000);
+
+    @AfterEach
+    void close() {
+        constraintProfiler.close();
+    }
+
+    private static EmployeeSchedule schedule() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            employees.add(new Employee("Employee " + i, "Specialist", new HashSet<>(), new HashSet<>(), 40));
+        }
+        List<Shift> shifts = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            shifts.add(new Shift(String.valueOf(day), DAY_START_TIME.plusDays(day),
+                    DAY_START_TIME.plusDays(day).plusHours(8), "Specialist", null));
+        }
+        EmployeeSchedule schedule = new EmployeeSchedule(employees, shifts);
+        schedule.updateAvailableEmployees();
+        return schedule;
+    }
+
+    @Test
+    void profilesEveryConstraintWithoutChangingTheSchedule() {
+        EmployeeSchedule schedule = schedule();
+
+        ConstraintProfile profile = constraintProfiler.profile(schedule, 50);
+
+        assertThat(profile.moveCount()).isEqualTo(50);
+        assertThat(profile.constraintCosts()).hasSizeGreaterThan(1)
+                .extracting(ConstraintCost::nanosPerMove)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(profile.constraintCosts().stream().mapToDouble(ConstraintCost::share).sum())
+                .isCloseTo(1.0, Offset.offset(1e-9));
+        assertThat(schedule.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNull());
+    }
+
+    @Test
+    void profilesOffTheCallingThread() throws Exception {
+        Set<Thread> profilingThreads = ConcurrentHashMap.newKeySet();
+        EmployeeSchedule schedule = schedule();
+        Employee employee = new Employee("Spy", "Specialist", new HashSet<>(), new HashSet<>(), 40) {
+            @Override
+            public String getName() {
+                // Read when the profiler copies the schedule.
+                profilingThreads.add(Thread.currentThread());
+                return super.getName();
+            }
+        };
+        schedule.getEmployees().add(employee);
+
+        ConstraintProfile profile = constraintProfiler.profileAsync(schedule, null).get(30, TimeUnit.SECONDS);
+
+        assertThat(profile.moveCount()).isEqualTo(100);
+        assertThat(profilingThreads).isNotEmpty().doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    void rejectsAMoveCountOutOfRangeRightAway() {
+        assertThatThrownBy(() -> constraintProfiler.profileAsync(schedule(), 1001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000");
+        assertThatThrownBy(() -> constraintProfiler.profileAsync(schedule(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> constraintProfiler.profile(schedule(), 1001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsAScheduleWithoutShifts() {
+        EmployeeSchedule schedule = new EmployeeSchedule(schedule().getEmployees(), new ArrayList<>());
+
+        assertThatThrownBy(() -> constraintProfiler.profileAsync(schedule, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
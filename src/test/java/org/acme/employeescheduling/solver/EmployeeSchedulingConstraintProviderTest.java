@@ -44,11 +44,46 @@ class EmployeeSchedulingConstraintProviderTest {
                 new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", employee))
             .penalizesByMoreThan(0);
 
+        // 10:00-18:00 and 14:00-22:00 overlap, even though they start at different times.
+        // Every overlapping pair costs one, like two shifts with the same start.
         constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
             .given(
                 new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee),
                 new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", employee))
+            .penalizesBy(1);
+
+        // Back-to-back shifts do not overlap.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, AFTERNOON_SHIFT_START, "Specialist", employee),
+                new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", employee))
+            .penalizes(0);
+
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee),
+                new Shift("2", MORNING_SHIFT_START.plusDays(1), MORNING_SHIFT_END.plusDays(1), "Specialist", employee))
+            .penalizes(0);
+
+        Employee otherEmployee = new Employee("Bob", "Specialist", Collections.emptySet(), Collections.emptySet(), 40);
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee),
+                new Shift("2", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", otherEmployee))
             .penalizes(0);
+
+        // Shifts without an id are still counted once per pair.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
+            .given(
+                new Shift(MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee),
+                new Shift(MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee))
+            .penalizesBy(1);
+
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::noOverlappingShifts)
+            .given(
+                new Shift(MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", employee),
+                new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", employee))
+            .penalizesBy(1);
     }
 
     @Test
@@ -65,6 +100,16 @@ class EmployeeSchedulingConstraintProviderTest {
                 employee,
                 new Shift("1", AFTERNOON_SHIFT_START.plusDays(1), AFTERNOON_SHIFT_END.plusDays(1), "Specialist", employee))
             .penalizes(0);
+
+        // A shift over three days is penalized for its whole middle day, even though it neither starts nor ends then.
+        Employee middleDayUnavailableEmployee =
+            new Employee("Bob", "Specialist", Set.of(DAY_2), Collections.emptySet(), 40);
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::unavailableEmployee)
+            .given(
+                middleDayUnavailableEmployee,
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_START.plusHours(48), "Specialist",
+                    middleDayUnavailableEmployee))
+            .penalizesBy(24 * 60);
     }
 
     @Test
@@ -88,6 +133,34 @@ class EmployeeSchedulingConstraintProviderTest {
                 new Shift("1", MORNING_SHIFT_START.plusDays(3), MORNING_SHIFT_END.plusDays(3), "Specialist", employee),
                 new Shift("1", MORNING_SHIFT_START.plusDays(4), MORNING_SHIFT_END.plusDays(4), "Specialist", employee))
             .penalizes(0);
+
+        // Weekly hours come from the actual shift durations: 4 x 10 hours + 2 hours is 2 hours too many,
+        // penalized by the hour.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::maxWorkingHoursPerWeek)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_START.plusHours(10), "Specialist", employee),
+                new Shift("2", MORNING_SHIFT_START.plusDays(1), MORNING_SHIFT_START.plusDays(1).plusHours(10), "Specialist", employee),
+                new Shift("3", MORNING_SHIFT_START.plusDays(2), MORNING_SHIFT_START.plusDays(2).plusHours(10), "Specialist", employee),
+                new Shift("4", MORNING_SHIFT_START.plusDays(3), MORNING_SHIFT_START.plusDays(3).plusHours(10), "Specialist", employee),
+                new Shift("5", MORNING_SHIFT_START.plusDays(4), MORNING_SHIFT_START.plusDays(4).plusHours(2), "Specialist", employee))
+            .penalizesBy(2);
+
+        // A started hour too many counts as a whole one.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::maxWorkingHoursPerWeek)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_START.plusHours(10), "Specialist", employee),
+                new Shift("2", MORNING_SHIFT_START.plusDays(1), MORNING_SHIFT_START.plusDays(1).plusHours(10), "Specialist", employee),
+                new Shift("3", MORNING_SHIFT_START.plusDays(2), MORNING_SHIFT_START.plusDays(2).plusHours(10), "Specialist", employee),
+                new Shift("4", MORNING_SHIFT_START.plusDays(3), MORNING_SHIFT_START.plusDays(3).plusHours(10), "Specialist", employee),
+                new Shift("5", MORNING_SHIFT_START.plusDays(4), MORNING_SHIFT_START.plusDays(4).plusMinutes(30), "Specialist", employee))
+            .penalizesBy(1);
+
+        // Shifts in different weeks are not added up.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::maxWorkingHoursPerWeek)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_START.plusHours(30), "Specialist", employee),
+                new Shift("2", MORNING_SHIFT_START.plusDays(7), MORNING_SHIFT_START.plusDays(7).plusHours(30), "Specialist", employee))
+            .penalizes(0);
     }
 
     @Test
@@ -106,6 +179,36 @@ class EmployeeSchedulingConstraintProviderTest {
                 new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", assistant),
                 new Shift("2", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", assistant))
             .penalizesByMoreThan(0);
+
+        // A Specialist in the morning does not cover the afternoon of the same day.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::roleRequirementConstraint)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", specialist),
+                new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", assistant))
+            .penalizesBy(1);
+
+        // Nor the morning of the next day.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::roleRequirementConstraint)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", specialist),
+                new Shift("2", MORNING_SHIFT_START.plusDays(1), MORNING_SHIFT_END.plusDays(1), "Specialist", assistant))
+            .penalizesBy(1);
+
+        // Each time slot without a Specialist is penalized once, however many shifts it has.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::roleRequirementConstraint)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", assistant),
+                new Shift("2", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", assistant),
+                new Shift("3", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", assistant),
+                new Shift("4", AFTERNOON_SHIFT_START.plusDays(1), AFTERNOON_SHIFT_END.plusDays(1), "Specialist", specialist))
+            .penalizesBy(2);
+
+        // Unassigned shifts neither count as a Specialist nor make their time slot penalized on their own.
+        constraintVerifier.verifyThat(EmployeeSchedulingConstraintProvider::roleRequirementConstraint)
+            .given(
+                new Shift("1", MORNING_SHIFT_START, MORNING_SHIFT_END, "Specialist", null),
+                new Shift("2", AFTERNOON_SHIFT_START, AFTERNOON_SHIFT_END, "Specialist", specialist))
+            .penalizes(0);
     }
 
     @Test
@@ -0,0 +1,99 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FeasibilityTerminatorTest {
+
+    private static final Duration AFTER_FEASIBLE = Duration.ofMillis(300);
+    private static final HardSoftLongScore FEASIBLE = HardSoftLongScore.of(0, -10);
+    private static final HardSoftLongScore BETTER_FEASIBLE = HardSoftLongScore.of(0, -5);
+    private static final HardSoftLongScore INFEASIBLE = HardSoftLongScore.of(-1, 0);
+
+    private final FeasibilityTerminator feasibilityTerminator = new FeasibilityTerminator();
+
+    @AfterEach
+    void close() {
+        feasibilityTerminator.close();
+    }
+
+    @Test
+    void feasibleThenSpentCountsFromTheFirstFeasibleSolution() throws InterruptedException {
+        CountDownLatch firstTerminator = new CountDownLatch(1);
+        CountDownLatch laterTerminator = new CountDownLatch(1);
+
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE, INFEASIBLE,
+                laterTerminator::countDown);
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE, FEASIBLE,
+                firstTerminator::countDown);
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE,
+                BETTER_FEASIBLE, laterTerminator::countDown);
+
+        assertThat(firstTerminator.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(laterTerminator.await(2 * AFTER_FEASIBLE.toMillis(), TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void feasibleThenUnimprovedIsPostponedByEveryImprovement() throws InterruptedException {
+        CountDownLatch firstTerminator = new CountDownLatch(1);
+        CountDownLatch laterTerminator = new CountDownLatch(1);
+
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_UNIMPROVED, AFTER_FEASIBLE,
+                FEASIBLE, firstTerminator::countDown);
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_UNIMPROVED, AFTER_FEASIBLE,
+                BETTER_FEASIBLE, laterTerminator::countDown);
+
+        assertThat(laterTerminator.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firstTerminator.getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void ignoresInfeasibleSolutionsAndOtherPolicies() throws InterruptedException {
+        CountDownLatch terminator = new CountDownLatch(1);
+
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE, INFEASIBLE,
+                terminator::countDown);
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE, null,
+                terminator::countDown);
+        feasibilityTerminator.onBestSolution("2", TerminationPolicy.DEFAULT, AFTER_FEASIBLE, FEASIBLE,
+                terminator::countDown);
+        feasibilityTerminator.onBestSolution("3", TerminationPolicy.FIRST_FEASIBLE, AFTER_FEASIBLE, FEASIBLE,
+                terminator::countDown);
+
+        assertThat(terminator.await(2 * AFTER_FEASIBLE.toMillis(), TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void cancelStopsAScheduledTermination() throws InterruptedException {
+        CountDownLatch terminator = new CountDownLatch(1);
+
+        feasibilityTerminator.onBestSolution("1", TerminationPolicy.FEASIBLE_THEN_SPENT, AFTER_FEASIBLE, FEASIBLE,
+                terminator::countDown);
+        feasibilityTerminator.cancel("1");
+
+        assertThat(terminator.await(2 * AFTER_FEASIBLE.toMillis(), TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void terminatesAtTheDeadlineUnlessCancelled() throws InterruptedException {
+        CountDownLatch terminator = new CountDownLatch(1);
+        CountDownLatch cancelledTerminator = new CountDownLatch(1);
+
+        feasibilityTerminator.scheduleDeadline("1", Instant.now().plus(AFTER_FEASIBLE), terminator::countDown);
+        feasibilityTerminator.scheduleDeadline("2", Instant.now().plus(AFTER_FEASIBLE),
+                cancelledTerminator::countDown);
+        feasibilityTerminator.cancel("2");
+
+        assertThat(terminator.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledTerminator.await(2 * AFTER_FEASIBLE.toMillis(), TimeUnit.MILLISECONDS)).isFalse();
+    }
+}
@@ -0,0 +1,162 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedSolverTest {
+
+    // A Monday, so the schedule spans exactly two partitions of one week.
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+    // Long enough that only terminateEarly() can end a solve within a test's timeout.
+    private static final Duration LONG_LIMIT = Duration.ofMinutes(1);
+
+    private final SolverManagerRegistry solverManagerRegistry = new SolverManagerRegistry(new SolverConfig()
+            .withSolutionClass(EmployeeSchedule.class)
+            .withEntityClasses(Shift.class)
+            .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class),
+            LONG_LIMIT, LONG_LIMIT, "2", false);
+    private PartitionedSolver partitionedSolver;
+
+    @AfterEach
+    void close() {
+        partitionedSolver.close();
+        solverManagerRegistry.close();
+    }
+
+    private PartitionedSolver partitionedSolver(Duration partitionUnimprovedSpentLimit) {
+        partitionedSolver = new PartitionedSolver(solverManagerRegistry, 1, "1", LONG_LIMIT,
+                partitionUnimprovedSpentLimit);
+        return partitionedSolver;
+    }
+
+    private static EmployeeSchedule schedule() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            employees.add(new Employee("Employee " + i, "Specialist", new HashSet<>(), new HashSet<>(), 40));
+        }
+        List<Shift> shifts = new ArrayList<>();
+        for (int day = 0; day < 14; day++) {
+            shifts.add(new Shift(String.valueOf(day), DAY_START_TIME.plusDays(day),
+                    DAY_START_TIME.plusDays(day).plusHours(8), "Specialist", null));
+        }
+        EmployeeSchedule schedule = new EmployeeSchedule(employees, shifts);
+        schedule.updateAvailableEmployees();
+        return schedule;
+    }
+
+    @Test
+    void assignsEveryShiftFromItsPartition() {
+        PartitionedSolver partitionedSolver = partitionedSolver(Duration.ofMillis(100));
+        EmployeeSchedule schedule = schedule();
+        partitionedSolver.register("1");
+
+        assertThat(partitionedSolver.solvePartitions("1", schedule, Algorithm.LATE_ACCEPTANCE, null,
+                TerminationPolicy.DEFAULT)).isSameAs(schedule);
+        assertThat(schedule.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+        assertThat(schedule.getEmployees()).contains(schedule.getShifts().get(0).getEmployee());
+    }
+
+    @Test
+    void skipsThePartitionsOfAJobTerminatedBeforeTheyStart() {
+        PartitionedSolver partitionedSolver = partitionedSolver(LONG_LIMIT);
+        EmployeeSchedule schedule = schedule();
+        partitionedSolver.register("1");
+        partitionedSolver.terminateEarly("1");
+
+        partitionedSolver.solvePartitions("1", schedule, Algorithm.LATE_ACCEPTANCE, null,
+                TerminationPolicy.DEFAULT);
+
+        assertThat(schedule.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNull());
+    }
+
+    @Test
+    void keepsTheBestSolutionsOfPartitionsTerminatedWhileSolving() throws Exception {
+        PartitionedSolver partitionedSolver = partitionedSolver(LONG_LIMIT);
+        EmployeeSchedule schedule = schedule();
+        partitionedSolver.register("1");
+
+        CompletableFuture<EmployeeSchedule> future = CompletableFuture.supplyAsync(
+                () -> partitionedSolver.solvePartitions("1", schedule, Algorithm.LATE_ACCEPTANCE, null,
+                        TerminationPolicy.DEFAULT));
+        Thread.sleep(1000L);
+        partitionedSolver.terminateEarly("1");
+
+        future.get(20, TimeUnit.SECONDS);
+        assertThat(schedule.getShifts()).anySatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+    }
+
+    @Test
+    void keepsTheDeadlineOfTheJob() throws Exception {
+        // One thread, so the second partition only starts its spent limit once the first one is done.
+        PartitionedSolver partitionedSolver = partitionedSolver(LONG_LIMIT);
+        EmployeeSchedule schedule = schedule();
+        partitionedSolver.register("1");
+        long startNanos = System.nanoTime();
+
+        CompletableFuture.supplyAsync(() -> partitionedSolver.solvePartitions("1", schedule,
+                Algorithm.LATE_ACCEPTANCE, Instant.now().plusSeconds(2), TerminationPolicy.DEFAULT))
+                .get(20, TimeUnit.SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+        assertThat(schedule.getShifts()).anySatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+    }
+
+    @Test
+    void stopsEveryPartitionAtItsFirstFeasibleSolution() throws Exception {
+        PartitionedSolver partitionedSolver = partitionedSolver(LONG_LIMIT);
+        EmployeeSchedule schedule = schedule();
+        partitionedSolver.register("1");
+
+        CompletableFuture.supplyAsync(() -> partitionedSolver.solvePartitions("1", schedule,
+                Algorithm.LATE_ACCEPTANCE, null, TerminationPolicy.FIRST_FEASIBLE))
+                .get(20, TimeUnit.SECONDS);
+
+        assertThat(schedule.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+    }
+
+    @Test
+    void terminatingDuringThePartitionsAlsoSkipsTheWholeScheduleSolve() throws Exception {
+        PartitionedSolver partitionedSolver = partitionedSolver(LONG_LIMIT);
+        SolverConfig solverConfig = solverManagerRegistry.buildSolverConfig(Algorithm.LATE_ACCEPTANCE)
+                .withTerminationConfig(new TerminationConfig().withSpentLimit(LONG_LIMIT));
+        try (SolverManager<EmployeeSchedule, String> solverManager =
+                SolverManager.create(SolverFactory.create(solverConfig))) {
+            partitionedSolver.register("1");
+            SolverJob<EmployeeSchedule, String> solverJob = solverManager.solveBuilder()
+                    .withProblemId("1")
+                    .withProblemFinder(jobId -> partitionedSolver.solvePartitions(jobId, schedule(),
+                            Algorithm.LATE_ACCEPTANCE, null, TerminationPolicy.DEFAULT))
+                    .run();
+            Thread.sleep(1000L);
+
+            // As ScheduleSolvingService terminates a job. Returns once the job has stopped.
+            CompletableFuture.runAsync(() -> {
+                partitionedSolver.terminateEarly("1");
+                solverManager.terminateEarly("1");
+            }).get(20, TimeUnit.SECONDS);
+
+            assertThat(solverJob.getFinalBestSolution().getShifts())
+                    .anySatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ProblemSizeStatistics;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PortfolioSolverTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private final SolverManagerRegistry solverManagerRegistry = new SolverManagerRegistry(new SolverConfig()
+            .withSolutionClass(EmployeeSchedule.class)
+            .withEntityClasses(Shift.class)
+            .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class),
+            Duration.ofSeconds(10), Duration.ofSeconds(2), "2", false);
+    private final PortfolioSolver portfolioSolver =
+            new PortfolioSolver(solverManagerRegistry, Duration.ofSeconds(1), Duration.ofMillis(200));
+
+    @AfterEach
+    void close() {
+        portfolioSolver.close();
+        solverManagerRegistry.close();
+    }
+
+    private static EmployeeSchedule schedule() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            employees.add(new Employee("Employee " + i, "Specialist", new HashSet<>(), new HashSet<>(), 40));
+        }
+        List<Shift> shifts = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            shifts.add(new Shift(String.valueOf(day), DAY_START_TIME.plusDays(day),
+                    DAY_START_TIME.plusDays(day).plusHours(8), "Specialist", null));
+        }
+        EmployeeSchedule schedule = new EmployeeSchedule(employees, shifts);
+        schedule.updateAvailableEmployees();
+        return schedule;
+    }
+
+    private static EmployeeSchedule solution(HardSoftLongScore score) {
+        EmployeeSchedule solution = new EmployeeSchedule(List.of(), List.of());
+        solution.setScore(score);
+        return solution;
+    }
+
+    @Test
+    void isPortfolioIgnoresCase() {
+        assertThat(PortfolioSolver.isPortfolio("PORTFOLIO")).isTrue();
+        assertThat(PortfolioSolver.isPortfolio("portfolio")).isTrue();
+        assertThat(PortfolioSolver.isPortfolio("TABU_SEARCH")).isFalse();
+        assertThat(PortfolioSolver.isPortfolio(null)).isFalse();
+    }
+
+    @Test
+    void returnsTheBestSolutionOfTheRace() {
+        EmployeeSchedule problem = schedule();
+        List<HardSoftLongScore> bestScores = new CopyOnWriteArrayList<>();
+        portfolioSolver.register("1");
+
+        EmployeeSchedule best = portfolioSolver.race("1", problem, null, TerminationPolicy.DEFAULT,
+                solution -> bestScores.add(solution.getScore()));
+
+        assertThat(best).isNotSameAs(problem);
+        assertThat(best.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+        assertThat(bestScores).isNotEmpty().isSorted().doesNotHaveDuplicates();
+        assertThat(best.getScore()).isEqualTo(bestScores.get(bestScores.size() - 1));
+    }
+
+    @Test
+    void skipsTheRaceOfAJobTerminatedBeforeItStarts() {
+        EmployeeSchedule problem = schedule();
+        List<EmployeeSchedule> bestSolutions = new CopyOnWriteArrayList<>();
+        portfolioSolver.register("1");
+        portfolioSolver.terminateEarly("1");
+
+        assertThat(portfolioSolver.race("1", problem, null, TerminationPolicy.DEFAULT,
+                bestSolutions::add)).isSameAs(problem);
+        assertThat(bestSolutions).isEmpty();
+    }
+
+    @Test
+    void polishesOnASolverManagerOfItsOwn() throws Exception {
+        EmployeeSchedule problem = schedule();
+        portfolioSolver.register("1");
+
+        // So a job waiting for its race doesn't hold a thread that hill climbing jobs need.
+        assertThat(portfolioSolver.getSolverManager())
+                .isNotSameAs(solverManagerRegistry.getSolverManager(PortfolioSolver.POLISH_ALGORITHM));
+        SolverJob<EmployeeSchedule, String> solverJob = portfolioSolver.getSolverManager().solveBuilder()
+                .withProblemId("1")
+                .withProblemFinder(jobId -> portfolioSolver.race(jobId, problem, null, TerminationPolicy.DEFAULT,
+                        solution -> {
+                        }))
+                .withConfigOverride(solverManagerRegistry.buildWarmStartConfigOverride())
+                .run();
+
+        assertThat(solverJob.getFinalBestSolution().getScore().isFeasible()).isTrue();
+    }
+
+    @Test
+    void keepsTheDeadlineOfTheJob() throws Exception {
+        // A spent limit far beyond the deadline, so only the deadline can end the race in time.
+        PortfolioSolver slowPortfolioSolver =
+                new PortfolioSolver(solverManagerRegistry, Duration.ofMinutes(1), Duration.ofMillis(200));
+        EmployeeSchedule problem = schedule();
+        slowPortfolioSolver.register("1");
+        long startNanos = System.nanoTime();
+
+        EmployeeSchedule best = CompletableFuture.supplyAsync(() -> slowPortfolioSolver.race("1", problem,
+                Instant.now().plusSeconds(2), TerminationPolicy.DEFAULT, solution -> {
+                }))
+                .get(20, TimeUnit.SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+        assertThat(best.getShifts()).allSatisfy(shift -> assertThat(shift.getEmployee()).isNotNull());
+    }
+
+    @Test
+    void endsTheRaceAtTheFirstFeasibleSolution() {
+        PortfolioSolver.Race race = new PortfolioSolver.Race();
+        race.start(solution -> {
+        }, true);
+        StubSolverJob leaderJob = new StubSolverJob(SolverStatus.SOLVING_ACTIVE);
+        StubSolverJob otherJob = new StubSolverJob(SolverStatus.SOLVING_ACTIVE);
+        PortfolioSolver.Contestant leader = contestant(race, Algorithm.TABU_SEARCH, leaderJob);
+        contestant(race, Algorithm.LATE_ACCEPTANCE, otherJob);
+
+        race.improve(leader, solution(HardSoftLongScore.of(-1, 0)));
+        race.terminateIfStopping();
+        assertThat(otherJob.isTerminatedEarly()).isFalse();
+
+        // The race thread terminates the contestants, not the consumer that found the feasible solution.
+        race.improve(leader, solution(HardSoftLongScore.of(0, -10)));
+        assertThat(leaderJob.isTerminatedEarly()).isFalse();
+        race.terminateIfStopping();
+        assertThat(leaderJob.isTerminatedEarly()).isTrue();
+        assertThat(otherJob.isTerminatedEarly()).isTrue();
+    }
+
+    @Test
+    void ranksOnlyContestantsThatAreSolvingAndHaveAScore() {
+        PortfolioSolver.Race race = new PortfolioSolver.Race();
+        race.start(solution -> {
+        }, false);
+        StubSolverJob leaderJob = new StubSolverJob(SolverStatus.SOLVING_ACTIVE);
+        StubSolverJob scheduledJob = new StubSolverJob(SolverStatus.SOLVING_SCHEDULED);
+        StubSolverJob scorelessJob = new StubSolverJob(SolverStatus.SOLVING_ACTIVE);
+        PortfolioSolver.Contestant leader = contestant(race, Algorithm.TABU_SEARCH, leaderJob);
+        contestant(race, Algorithm.LATE_ACCEPTANCE, scheduledJob);
+        contestant(race, Algorithm.SIMULATED_ANNEALING, scorelessJob);
+        race.improve(leader, solution(HardSoftLongScore.of(0, -10)));
+
+        assertThat(race.eliminateWorst()).isNull();
+
+        StubSolverJob worstJob = new StubSolverJob(SolverStatus.SOLVING_ACTIVE);
+        PortfolioSolver.Contestant worst = contestant(race, Algorithm.GREAT_DELUGE, worstJob);
+        race.improve(worst, solution(HardSoftLongScore.of(-1, 0)));
+
+        assertThat(race.eliminateWorst()).isSameAs(worst);
+        assertThat(worstJob.isTerminatedEarly()).isTrue();
+        assertThat(scheduledJob.isTerminatedEarly()).isFalse();
+        assertThat(scorelessJob.isTerminatedEarly()).isFalse();
+        assertThat(leaderJob.isTerminatedEarly()).isFalse();
+        assertThat(race.eliminateWorst()).isNull();
+    }
+
+    @Test
+    void keepsContestantsTiedWithTheLeader() {
+        PortfolioSolver.Race race = new PortfolioSolver.Race();
+        race.start(solution -> {
+        }, false);
+        PortfolioSolver.Contestant contestant1 = contestant(race, Algorithm.TABU_SEARCH,
+                new StubSolverJob(SolverStatus.SOLVING_ACTIVE));
+        PortfolioSolver.Contestant contestant2 = contestant(race, Algorithm.LATE_ACCEPTANCE,
+                new StubSolverJob(SolverStatus.SOLVING_ACTIVE));
+        race.improve(contestant1, solution(HardSoftLongScore.of(0, -10)));
+        race.improve(contestant2, solution(HardSoftLongScore.of(0, -10)));
+
+        assertThat(race.eliminateWorst()).isNull();
+    }
+
+    @Test
+    void eliminatesWhileTheBestSolutionConsumerIsBusy() throws Exception {
+        PortfolioSolver.Race race = new PortfolioSolver.Race();
+        CountDownLatch consumerStarted = new CountDownLatch(1);
+        CountDownLatch consumerReleased = new CountDownLatch(1);
+        race.start(solution -> {
+            consumerStarted.countDown();
+            try {
+                consumerReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, false);
+        PortfolioSolver.Contestant leader = contestant(race, Algorithm.TABU_SEARCH,
+                new StubSolverJob(SolverStatus.SOLVING_ACTIVE));
+        PortfolioSolver.Contestant worst = contestant(race, Algorithm.LATE_ACCEPTANCE,
+                new StubSolverJob(SolverStatus.SOLVING_ACTIVE));
+        CompletableFuture<Void> leaderImprovement =
+                CompletableFuture.runAsync(() -> race.improve(leader, solution(HardSoftLongScore.of(0, -10))));
+        try {
+            assertThat(consumerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<PortfolioSolver.Contestant> elimination = CompletableFuture.supplyAsync(() -> {
+                race.improve(worst, solution(HardSoftLongScore.of(-1, 0)));
+                return race.eliminateWorst();
+            });
+
+            assertThat(elimination.get(10, TimeUnit.SECONDS)).isSameAs(worst);
+        } finally {
+            consumerReleased.countDown();
+        }
+        leaderImprovement.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void terminatesContestantsWithoutHoldingTheRaceLock() throws Exception {
+        PortfolioSolver.Race race = new PortfolioSolver.Race();
+        race.start(solution -> {
+        }, false);
+        PortfolioSolver.Contestant contestant = new PortfolioSolver.Contestant(Algorithm.TABU_SEARCH);
+        // Like a real solver job, only returns once the consumers of the contestant have, which take the race lock.
+        race.add(contestant, new StubSolverJob(SolverStatus.SOLVING_ACTIVE, () -> CompletableFuture
+                .runAsync(() -> race.improve(contestant, solution(HardSoftLongScore.of(0, -10))))
+                .join()));
+
+        CompletableFuture.runAsync(race::terminateEarly).get(10, TimeUnit.SECONDS);
+    }
+
+    private static PortfolioSolver.Contestant contestant(PortfolioSolver.Race race, Algorithm algorithm,
+            SolverJob<EmployeeSchedule, String> solverJob) {
+        PortfolioSolver.Contestant contestant = new PortfolioSolver.Contestant(algorithm);
+        race.add(contestant, solverJob);
+        return contestant;
+    }
+
+    private static final class StubSolverJob implements SolverJob<EmployeeSchedule, String> {
+
+        private final SolverStatus solverStatus;
+        private final Runnable onTerminateEarly;
+        private volatile boolean terminatedEarly = false;
+
+        private StubSolverJob(SolverStatus solverStatus) {
+            this(solverStatus, () -> {
+            });
+        }
+
+        private StubSolverJob(SolverStatus solverStatus, Runnable onTerminateEarly) {
+            this.solverStatus = solverStatus;
+            this.onTerminateEarly = onTerminateEarly;
+        }
+
+        @Override
+        public String getProblemId() {
+            return "1";
+        }
+
+        @Override
+        public SolverStatus getSolverStatus() {
+            return terminatedEarly ? SolverStatus.NOT_SOLVING : solverStatus;
+        }
+
+        @Override
+        public CompletableFuture<Void> addProblemChange(ProblemChange<EmployeeSchedule> problemChange) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void terminateEarly() {
+            terminatedEarly = true;
+            onTerminateEarly.run();
+        }
+
+        @Override
+        public boolean isTerminatedEarly() {
+            return terminatedEarly;
+        }
+
+        @Override
+        public EmployeeSchedule getFinalBestSolution() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Duration getSolvingDuration() {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public long getScoreCalculationCount() {
+            return 0L;
+        }
+
+        @Override
+        public long getMoveEvaluationCount() {
+            return 0L;
+        }
+
+        @Override
+        public ProblemSizeStatistics getProblemSizeStatistics() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getScoreCalculationSpeed() {
+            return 0L;
+        }
+
+        @Override
+        public long getMoveEvaluationSpeed() {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.solver.change.ProblemChangeBatch;
+import org.acme.employeescheduling.solver.change.RemoveShiftProblemChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ProblemChangeBatcherTest {
+
+    private final RecordingSolverManagerRegistry solverManagerRegistry = new RecordingSolverManagerRegistry();
+    private final ProblemChangeBatcher problemChangeBatcher =
+            new ProblemChangeBatcher(solverManagerRegistry, Duration.ofMillis(200));
+
+    @AfterEach
+    void close() {
+        problemChangeBatcher.close();
+    }
+
+    @Test
+    void coalescesChangesOfOneJobWithinTheBatchInterval() throws Exception {
+        solverManagerRegistry.solvingJobIds.put("1", true);
+        solverManagerRegistry.solvingJobIds.put("2", true);
+        RemoveShiftProblemChange change1 = new RemoveShiftProblemChange("a");
+        RemoveShiftProblemChange change2 = new RemoveShiftProblemChange("b");
+        RemoveShiftProblemChange change3 = new RemoveShiftProblemChange("c");
+
+        CompletableFuture<Void> future1 = problemChangeBatcher.submit("1", change1);
+        CompletableFuture<Void> future2 = problemChangeBatcher.submit("1", change2);
+        CompletableFuture<Void> future3 = problemChangeBatcher.submit("2", change3);
+        CompletableFuture.allOf(future1, future2, future3).get(5, TimeUnit.SECONDS);
+
+        assertThat(solverManagerRegistry.addedProblemChanges).containsExactlyInAnyOrder(
+                new AddedProblemChange("1", new ProblemChangeBatch(List.of(change1, change2))),
+                new AddedProblemChange("2", new ProblemChangeBatch(List.of(change3))));
+    }
+
+    @Test
+    void startsANewBatchAfterTheFlush() throws Exception {
+        solverManagerRegistry.solvingJobIds.put("1", true);
+
+        problemChangeBatcher.submit("1", new RemoveShiftProblemChange("a")).get(5, TimeUnit.SECONDS);
+        problemChangeBatcher.submit("1", new RemoveShiftProblemChange("b")).get(5, TimeUnit.SECONDS);
+
+        assertThat(solverManagerRegistry.addedProblemChanges).hasSize(2);
+    }
+
+    @Test
+    void failsEveryChangeOfAJobThatIsNotSolving() {
+        CompletableFuture<Void> future1 = problemChangeBatcher.submit("1", new RemoveShiftProblemChange("a"));
+        CompletableFuture<Void> future2 = problemChangeBatcher.submit("1", new RemoveShiftProblemChange("b"));
+
+        for (CompletableFuture<Void> future : List.of(future1, future2)) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(solverManagerRegistry.addedProblemChanges).isEmpty();
+    }
+
+    private record AddedProblemChange(String jobId, ProblemChange<EmployeeSchedule> problemChange) {
+    }
+
+    private static final class RecordingSolverManagerRegistry extends SolverManagerRegistry {
+
+        private final Map<String, Boolean> solvingJobIds = new ConcurrentHashMap<>();
+        private final List<AddedProblemChange> addedProblemChanges = new CopyOnWriteArrayList<>();
+
+        private RecordingSolverManagerRegistry() {
+            super(new SolverConfig(), Duration.ofSeconds(10), Duration.ofSeconds(2));
+        }
+
+        @Override
+        public CompletableFuture<Void> addProblemChange(String jobId, ProblemChange<EmployeeSchedule> problemChange) {
+            if (!solvingJobIds.containsKey(jobId)) {
+                throw new IllegalStateException("The jobId (" + jobId + ") is not solving.");
+            }
+            addedProblemChanges.add(new AddedProblemChange(jobId, problemChange));
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.inject.Inject;
+
+import ai.timefold.solver.core.config.solver.SolverConfig;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+class SolverConfigTest {
+
+    @Inject
+    SolverConfig solverConfig;
+
+    @Test
+    void solvesWithTheFullConstraintProvider() {
+        // SingleConstraintProvider is a subclass of it in the same module, only meant for profiling.
+        assertThat(solverConfig.getScoreDirectorFactoryConfig().getConstraintProviderClass())
+                .isEqualTo(EmployeeSchedulingConstraintProvider.class);
+    }
+}
@@ -0,0 +1,140 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SolverManagerRegistryTest {
+
+    private final SolverManagerRegistry solverManagerRegistry =
+            new SolverManagerRegistry(new SolverConfig(), Duration.ofSeconds(10), Duration.ofSeconds(2), "2", false);
+
+    @Test
+    void warmStartGetsTheWarmStartLimits() {
+        TerminationConfig terminationConfig =
+                solverManagerRegistry.buildConfigOverride(null, true).getTerminationConfig();
+
+        assertThat(terminationConfig.getSpentLimit()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(terminationConfig.getUnimprovedSpentLimit()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void warmStartOverridesTheProfile() {
+        TerminationConfig terminationConfig =
+                solverManagerRegistry.buildConfigOverride(SolverProfile.HUGE, true).getTerminationConfig();
+
+        assertThat(terminationConfig.getSpentLimit()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void otherwiseKeepsTheProfileOrTheConfiguredLimits() {
+        SolverConfigOverride<EmployeeSchedule> profileConfigOverride =
+                solverManagerRegistry.buildConfigOverride(SolverProfile.HUGE, false);
+        SolverConfigOverride<EmployeeSchedule> configOverride = solverManagerRegistry.buildConfigOverride(null, false);
+
+        assertThat(profileConfigOverride.getTerminationConfig().getSpentLimit()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(configOverride.getTerminationConfig()).isNull();
+    }
+
+    @Test
+    void onlyFiltersSwapsIfTimeLocalSwapsAreEnabled() {
+        SolverManagerRegistry timeLocalSolverManagerRegistry =
+                new SolverManagerRegistry(new SolverConfig(), Duration.ofSeconds(10), Duration.ofSeconds(2), "2", true);
+
+        assertThat(getSwapMoveSelectorConfig(solverManagerRegistry).getFilterClass()).isNull();
+        assertThat(getSwapMoveSelectorConfig(timeLocalSolverManagerRegistry).getFilterClass())
+                .isEqualTo(TimeLocalSwapMoveFilter.class);
+    }
+
+    private static SwapMoveSelectorConfig getSwapMoveSelectorConfig(SolverManagerRegistry solverManagerRegistry) {
+        LocalSearchPhaseConfig localSearchPhaseConfig = (LocalSearchPhaseConfig) solverManagerRegistry
+                .buildSolverConfig(Algorithm.LATE_ACCEPTANCE).getPhaseConfigList().get(1);
+        return ((UnionMoveSelectorConfig) localSearchPhaseConfig.getMoveSelectorConfig()).getMoveSelectorList().stream()
+                .filter(SwapMoveSelectorConfig.class::isInstance)
+                .map(SwapMoveSelectorConfig.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void sharesTheSolverSlotsOverAllJobs() throws Exception {
+        assertThat(solverManagerRegistry.acquireSlot("1")).isTrue();
+        assertThat(solverManagerRegistry.acquireSlot("2")).isTrue();
+
+        CompletableFuture<Boolean> third = CompletableFuture.supplyAsync(() -> solverManagerRegistry.acquireSlot("3"));
+        Thread.sleep(200L);
+        assertThat(third).isNotDone();
+
+        solverManagerRegistry.releaseSlot("1");
+        assertThat(third.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelStopsTheWaitForASlot() throws Exception {
+        solverManagerRegistry.acquireSlot("1");
+        solverManagerRegistry.acquireSlot("2");
+
+        CompletableFuture<Boolean> third = CompletableFuture.supplyAsync(() -> solverManagerRegistry.acquireSlot("3"));
+        solverManagerRegistry.cancelSlot("3");
+        assertThat(third.get(10, TimeUnit.SECONDS)).isFalse();
+
+        // Also for a job that only asks for a slot after it was terminated.
+        solverManagerRegistry.cancelSlot("4");
+        solverManagerRegistry.releaseSlot("1");
+        assertThat(solverManagerRegistry.acquireSlot("4")).isFalse();
+
+        solverManagerRegistry.releaseSlot("4");
+        assertThat(solverManagerRegistry.acquireSlot("4")).isTrue();
+    }
+
+    @Test
+    void leavesNoMetersOfAFinishedJob() throws Exception {
+        SolverManagerRegistry solverManagerRegistry = new SolverManagerRegistry(new SolverConfig()
+                .withSolutionClass(EmployeeSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class),
+                Duration.ofSeconds(10), Duration.ofSeconds(2), "2", false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 6, 10, 0);
+        EmployeeSchedule problem = new EmployeeSchedule(
+                List.of(new Employee("Ann", "Specialist", Set.of(), Set.of(), 40)),
+                List.of(new Shift("1", start, start.plusHours(8), "Specialist", null)));
+        problem.updateAvailableEmployees();
+        try {
+            solverManagerRegistry.register("1", Algorithm.LATE_ACCEPTANCE).solveBuilder()
+                    .withProblemId("1")
+                    .withProblem(problem)
+                    .withConfigOverride(new SolverConfigOverride<EmployeeSchedule>().withTerminationConfig(
+                            new TerminationConfig().withSpentLimit(Duration.ofMillis(200))))
+                    .run()
+                    .getFinalBestSolution();
+
+            // Meters tagged with the job ID would add time series without bound.
+            assertThat(meterRegistry.getMeters()).noneMatch(meter -> meter.getId().getTag("problem.id") != null);
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+            solverManagerRegistry.close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.rest.DemoDataGenerator;
+import org.acme.employeescheduling.rest.DemoDataGenerator.DemoData;
+import org.junit.jupiter.api.Test;
+
+class SolverProfileTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private final DemoDataGenerator demoDataGenerator = new DemoDataGenerator();
+
+    private SolverProfile select(DemoData demoData) {
+        return SolverProfile.select(demoDataGenerator.generateDemoData(demoData));
+    }
+
+    /**
+     * Every employee can work one 8 hour shift a week, and there are as many shifts in one week as employees.
+     */
+    private static EmployeeSchedule fullyBookedSchedule(int size) {
+        List<Employee> employees = new ArrayList<>();
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee("Employee " + i, "Specialist", new HashSet<>(), new HashSet<>(), 8));
+            shifts.add(new Shift(String.valueOf(i), DAY_START_TIME.plusDays(i % 5),
+                    DAY_START_TIME.plusDays(i % 5).plusHours(8), "Specialist", null));
+        }
+        return new EmployeeSchedule(employees, shifts);
+    }
+
+    @Test
+    void demoDataGetsTheProfileOfItsSize() {
+        assertThat(select(DemoData.SMALL)).isEqualTo(SolverProfile.SMALL);
+        assertThat(select(DemoData.MEDIUM)).isEqualTo(SolverProfile.MEDIUM);
+        assertThat(select(DemoData.LARGE)).isEqualTo(SolverProfile.LARGE);
+        assertThat(select(DemoData.HUGE)).isEqualTo(SolverProfile.HUGE);
+    }
+
+    @Test
+    void tightProblemInTheUpperHalfOfItsProfileGetsTheNextProfile() {
+        EmployeeSchedule schedule = fullyBookedSchedule(20);
+
+        assertThat(SolverProfile.getUtilization(schedule)).isEqualTo(1.0);
+        assertThat(SolverProfile.select(schedule)).isEqualTo(SolverProfile.MEDIUM);
+    }
+
+    @Test
+    void tightProblemInTheLowerHalfOfItsProfileKeepsItsProfile() {
+        EmployeeSchedule schedule = fullyBookedSchedule(10);
+
+        assertThat(SolverProfile.getUtilization(schedule)).isEqualTo(1.0);
+        assertThat(SolverProfile.select(schedule)).isEqualTo(SolverProfile.SMALL);
+    }
+
+    @Test
+    void isAutoIgnoresCase() {
+        assertThat(SolverProfile.isAuto("AUTO")).isTrue();
+        assertThat(SolverProfile.isAuto("auto")).isTrue();
+        assertThat(SolverProfile.isAuto("LATE_ACCEPTANCE")).isFalse();
+        assertThat(SolverProfile.isAuto(null)).isFalse();
+    }
+}
@@ -0,0 +1,41 @@
+package org.acme.employeescheduling.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.SwapMove;
+
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class TimeLocalSwapMoveFilterTest {
+
+    private static final LocalDateTime DAY_START_TIME = LocalDateTime.of(2025, 1, 6, 10, 0);
+
+    private final TimeLocalSwapMoveFilter filter = new TimeLocalSwapMoveFilter();
+
+    private static Shift shift(String id, int day) {
+        return new Shift(id, DAY_START_TIME.plusDays(day), DAY_START_TIME.plusDays(day).plusHours(8), "Specialist",
+                null);
+    }
+
+    private boolean accept(Shift leftShift, Shift rightShift) {
+        return filter.accept(null, new SwapMove<EmployeeSchedule>(List.of(), leftShift, rightShift));
+    }
+
+    @Test
+    void acceptsSwapsOfShiftsAtMostAWeekApart() {
+        assertThat(accept(shift("1", 0), shift("2", 0))).isTrue();
+        assertThat(accept(shift("1", 0), shift("2", 7))).isTrue();
+        assertThat(accept(shift("1", 7), shift("2", 0))).isTrue();
+    }
+
+    @Test
+    void rejectsSwapsOfShiftsFurtherApart() {
+        assertThat(accept(shift("1", 0), shift("2", 8))).isFalse();
+        assertThat(accept(shift("1", 30), shift("2", 0))).isFalse();
+    }
+}
@@ -0,0 +1,210 @@
+package org.acme.employeescheduling.solver.change;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChange;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+class ProblemChangesTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 1, 6);
+    private static final LocalDateTime DAY_START_TIME = DAY_1.atTime(10, 0);
+
+    private static EmployeeSchedule schedule() {
+        Employee ann = new Employee("Ann", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        Employee beth = new Employee("Beth", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        List<Shift> shifts = new ArrayList<>();
+        shifts.add(new Shift("0", DAY_START_TIME, DAY_START_TIME.plusHours(8), "Specialist", ann));
+        shifts.add(new Shift("1", DAY_START_TIME.plusDays(1), DAY_START_TIME.plusDays(1).plusHours(8), "Specialist",
+                beth));
+        EmployeeSchedule schedule = new EmployeeSchedule(new ArrayList<>(List.of(ann, beth)), shifts);
+        schedule.updateAvailableEmployees();
+        return schedule;
+    }
+
+    private static void apply(EmployeeSchedule schedule, ProblemChange<EmployeeSchedule> problemChange) {
+        problemChange.doChange(schedule, new WorkingSolutionProblemChangeDirector(schedule));
+    }
+
+    @Test
+    void addShiftAssignsTheWorkingEmployee() {
+        EmployeeSchedule schedule = schedule();
+        Employee annCopy = new Employee("Ann", "Specialist", Set.of(), Set.of(), 40);
+        Shift shift = new Shift("2", DAY_START_TIME.plusDays(2), DAY_START_TIME.plusDays(2).plusHours(8),
+                "Specialist", annCopy);
+
+        apply(schedule, new AddShiftProblemChange(shift));
+
+        assertThat(schedule.getShifts()).contains(shift);
+        assertThat(shift.getEmployee()).isSameAs(ProblemChanges.findEmployee(schedule, "Ann"));
+        assertThat(shift.getAvailableEmployees()).containsExactlyElementsOf(schedule.getEmployees());
+    }
+
+    @Test
+    void addShiftOfUnknownEmployeeLeavesItUnassigned() {
+        EmployeeSchedule schedule = schedule();
+        Shift shift = new Shift("2", DAY_START_TIME.plusDays(2), DAY_START_TIME.plusDays(2).plusHours(8),
+                "Specialist", new Employee("Carl", "Specialist", Set.of(), Set.of(), 40));
+
+        apply(schedule, new AddShiftProblemChange(shift));
+
+        assertThat(ProblemChanges.findShift(schedule, "2").getEmployee()).isNull();
+    }
+
+    @Test
+    void addPinnedShiftOfUnknownEmployeeUnpinsIt() {
+        EmployeeSchedule schedule = schedule();
+        Shift shift = new Shift("2", DAY_START_TIME.plusDays(2), DAY_START_TIME.plusDays(2).plusHours(8),
+                "Specialist", new Employee("Carl", "Specialist", Set.of(), Set.of(), 40));
+        shift.setPinned(true);
+
+        apply(schedule, new AddShiftProblemChange(shift));
+
+        assertThat(shift.getEmployee()).isNull();
+        assertThat(shift.isPinned()).isFalse();
+    }
+
+    @Test
+    void removeShift() {
+        EmployeeSchedule schedule = schedule();
+
+        apply(schedule, new RemoveShiftProblemChange("0"));
+
+        assertThat(schedule.getShifts()).extracting(Shift::getId).containsExactly("1");
+    }
+
+    @Test
+    void removeEmployeeUnassignsTheirShifts() {
+        EmployeeSchedule schedule = schedule();
+
+        apply(schedule, new RemoveEmployeeProblemChange("Ann"));
+
+        assertThat(ProblemChanges.findEmployee(schedule, "Ann")).isNull();
+        assertThat(ProblemChanges.findShift(schedule, "0").getEmployee()).isNull();
+        assertThat(ProblemChanges.findShift(schedule, "1").getEmployee().getName()).isEqualTo("Beth");
+        for (Shift shift : schedule.getShifts()) {
+            assertThat(shift.getAvailableEmployees()).extracting(Employee::getName).containsExactly("Beth");
+        }
+    }
+
+    @Test
+    void removeEmployeeUnpinsTheirShifts() {
+        EmployeeSchedule schedule = schedule();
+        schedule.getShifts().forEach(shift -> shift.setPinned(true));
+
+        apply(schedule, new RemoveEmployeeProblemChange("Ann"));
+
+        Shift annShift = ProblemChanges.findShift(schedule, "0");
+        assertThat(annShift.getEmployee()).isNull();
+        assertThat(annShift.isPinned()).isFalse();
+        assertThat(ProblemChanges.findShift(schedule, "1").isPinned()).isTrue();
+    }
+
+    @Test
+    void updateEmployeeAvailabilityNarrowsTheValueRange() {
+        EmployeeSchedule schedule = schedule();
+        Set<LocalDate> preferredHolidays = ProblemChanges.findEmployee(schedule, "Ann").getPreferredHolidays();
+
+        apply(schedule, new UpdateEmployeeAvailabilityProblemChange("Ann", Set.of(DAY_1), null));
+
+        Employee ann = ProblemChanges.findEmployee(schedule, "Ann");
+        assertThat(ann.getUnavailableDates()).containsExactly(DAY_1);
+        assertThat(ann.getPreferredHolidays()).isSameAs(preferredHolidays);
+        assertThat(ProblemChanges.findShift(schedule, "0").getAvailableEmployees())
+                .extracting(Employee::getName).containsExactly("Beth");
+        assertThat(ProblemChanges.findShift(schedule, "1").getAvailableEmployees())
+                .extracting(Employee::getName).containsExactly("Ann", "Beth");
+    }
+
+    @Test
+    void batchAppliesChangesInOrder() {
+        EmployeeSchedule schedule = schedule();
+        Employee carl = new Employee("Carl", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        Shift shift = new Shift("2", DAY_START_TIME.plusDays(2), DAY_START_TIME.plusDays(2).plusHours(8),
+                "Specialist", new Employee("Carl", "Specialist", Set.of(), Set.of(), 40));
+
+        apply(schedule, new ProblemChangeBatch(List.of(new AddEmployeeProblemChange(carl),
+                new AddShiftProblemChange(shift), new RemoveShiftProblemChange("0"))));
+
+        assertThat(schedule.getShifts()).extracting(Shift::getId).containsExactly("1", "2");
+        assertThat(shift.getEmployee()).isSameAs(carl);
+        assertThat(ProblemChanges.findShift(schedule, "1").getAvailableEmployees()).contains(carl);
+    }
+
+    /**
+     * Applies every change directly, as the solver does to its working solution,
+     * and looks up working objects by their planning ID.
+     */
+    private record WorkingSolutionProblemChangeDirector(EmployeeSchedule schedule) implements ProblemChangeDirector {
+
+        @Override
+        public <Entity> void addEntity(Entity entity, Consumer<Entity> entityConsumer) {
+            entityConsumer.accept(entity);
+        }
+
+        @Override
+        public <Entity> void removeEntity(Entity entity, Consumer<Entity> entityConsumer) {
+            entityConsumer.accept(lookUpWorkingObjectOrFail(entity));
+        }
+
+        @Override
+        public <Entity> void changeVariable(Entity entity, String variableName, Consumer<Entity> entityConsumer) {
+            entityConsumer.accept(lookUpWorkingObjectOrFail(entity));
+        }
+
+        @Override
+        public <ProblemFact> void addProblemFact(ProblemFact problemFact, Consumer<ProblemFact> problemFactConsumer) {
+            problemFactConsumer.accept(problemFact);
+        }
+
+        @Override
+        public <ProblemFact> void removeProblemFact(ProblemFact problemFact,
+                Consumer<ProblemFact> problemFactConsumer) {
+            problemFactConsumer.accept(lookUpWorkingObjectOrFail(problemFact));
+        }
+
+        @Override
+        public <EntityOrProblemFact> void changeProblemProperty(EntityOrProblemFact problemFactOrEntity,
+                Consumer<EntityOrProblemFact> problemFactOrEntityConsumer) {
+            problemFactOrEntityConsumer.accept(lookUpWorkingObjectOrFail(problemFactOrEntity));
+        }
+
+        @Override
+        public <EntityOrProblemFact> EntityOrProblemFact lookUpWorkingObjectOrFail(EntityOrProblemFact externalObject) {
+            return lookUpWorkingObject(externalObject).orElseThrow();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <EntityOrProblemFact> Optional<EntityOrProblemFact> lookUpWorkingObject(
+                EntityOrProblemFact externalObject) {
+            Object workingObject;
+            if (externalObject instanceof Employee employee) {
+                workingObject = ProblemChanges.findEmployee(schedule, employee.getName());
+            } else if (externalObject instanceof Shift shift) {
+                workingObject = ProblemChanges.findShift(schedule, shift.getId());
+            } else {
+                throw new IllegalArgumentException("Unexpected object (" + externalObject + ").");
+            }
+            return Optional.ofNullable((EntityOrProblemFact) workingObject);
+        }
+
+        @Override
+        public void updateShadowVariables() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.acme.employeescheduling.solver.change;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.constraint.ConstraintMatchPolicy;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ai.timefold.solver.core.impl.solver.change.DefaultProblemChangeDirector;
+
+import org.acme.employeescheduling.domain.Employee;
+import org.acme.employeescheduling.domain.EmployeeSchedule;
+import org.acme.employeescheduling.domain.Shift;
+import org.acme.employeescheduling.solver.EmployeeSchedulingConstraintProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Applies the change through the solver's own problem change director and incremental score director,
+ * and checks the score it keeps against a full calculation.
+ */
+class UpdateEmployeeAvailabilityProblemChangeTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 1, 6);
+    private static final LocalDateTime DAY_START_TIME = DAY_1.atTime(10, 0);
+
+    private static final DefaultSolverFactory<EmployeeSchedule> SOLVER_FACTORY =
+            (DefaultSolverFactory<EmployeeSchedule>) SolverFactory.<EmployeeSchedule> create(new SolverConfig()
+                    .withSolutionClass(EmployeeSchedule.class)
+                    .withEntityClasses(Shift.class)
+                    .withScoreDirectorFactory(new ScoreDirectorFactoryConfig()
+                            .withConstraintProviderClass(EmployeeSchedulingConstraintProvider.class)));
+
+    private EmployeeSchedule schedule;
+    private InnerScoreDirector<EmployeeSchedule, ?> scoreDirector;
+
+    @BeforeEach
+    void setUp() {
+        Employee ann = new Employee("Ann", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        Employee beth = new Employee("Beth", "Specialist", new HashSet<>(), new HashSet<>(), 40);
+        List<Shift> shifts = new ArrayList<>();
+        shifts.add(new Shift("0", DAY_START_TIME, DAY_START_TIME.plusHours(8), "Specialist", ann));
+        shifts.add(new Shift("1", DAY_START_TIME.plusHours(4), DAY_START_TIME.plusHours(12), "Specialist", ann));
+        shifts.add(new Shift("2", DAY_START_TIME.plusDays(1), DAY_START_TIME.plusDays(1).plusHours(8), "Specialist",
+                beth));
+        schedule = new EmployeeSchedule(new ArrayList<>(List.of(ann, beth)), shifts);
+        schedule.updateAvailableEmployees();
+
+        scoreDirector = SOLVER_FACTORY.getScoreDirectorFactory().buildScoreDirector(false, ConstraintMatchPolicy.DISABLED);
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoreDirector.close();
+    }
+
+    private Score<?> apply(UpdateEmployeeAvailabilityProblemChange problemChange) {
+        new DefaultProblemChangeDirector<>(scoreDirector).doProblemChange(problemChange);
+        return scoreDirector.calculateScore();
+    }
+
+    private Score<?> calculateFromScratch() {
+        try (InnerScoreDirector<EmployeeSchedule, ?> freshScoreDirector =
+                SOLVER_FACTORY.getScoreDirectorFactory().buildScoreDirector(false, ConstraintMatchPolicy.DISABLED)) {
+            freshScoreDirector.setWorkingSolution(schedule);
+            return freshScoreDirector.calculateScore();
+        }
+    }
+
+    private void changeEmployee(Shift shift, String employeeName) {
+        scoreDirector.beforeVariableChanged(shift, "employee");
+        shift.setEmployee(ProblemChanges.findEmployee(schedule, employeeName));
+        scoreDirector.afterVariableChanged(shift, "employee");
+    }
+
+    @Test
+    void preferredHolidaysAloneUpdateTheScore() {
+        Score<?> scoreBefore = scoreDirector.calculateScore();
+
+        Score<?> score = apply(new UpdateEmployeeAvailabilityProblemChange("Ann", null, Set.of(DAY_1)));
+
+        assertThat(score).isNotEqualTo(scoreBefore);
+        assertThat(score).isEqualTo(calculateFromScratch());
+    }
+
+    @Test
+    void unavailableDatesUpdateTheScore() {
+        Score<?> scoreBefore = scoreDirector.calculateScore();
+
+        Score<?> score = apply(new UpdateEmployeeAvailabilityProblemChange("Ann", Set.of(DAY_1), null));
+
+        assertThat(score).isNotEqualTo(scoreBefore);
+        assertThat(score).isEqualTo(calculateFromScratch());
+    }
+
+    @Test
+    void movesAfterTheChangeKeepTheScoreCorrect() {
+        apply(new UpdateEmployeeAvailabilityProblemChange("Ann", Set.of(DAY_1.plusDays(1)), Set.of(DAY_1)));
+
+        // Retracting the employee's shifts from the overlap join and the per-employee groups
+        // finds them under the hash code they were inserted with.
+        changeEmployee(schedule.getShifts().get(1), "Beth");
+        changeEmployee(schedule.getShifts().get(2), "Ann");
+        changeEmployee(schedule.getShifts().get(0), "Beth");
+
+        assertThat(scoreDirector.calculateScore()).isEqualTo(calculateFromScratch());
+    }
+}